@@ -1,14 +1,16 @@
 package com.example.AuthenticationManagement.config;
 
+import com.example.commons.web.StaticFileHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 
 @Configuration
-public class WebConfig implements WebMvcConfigurer {
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("file:/tmp/uploads/");
+public class WebConfig {
+
+    // Imaginile au nume UUID și nu se schimbă: cache imutabil, Range și trimitere fără copiere prin heap
+    @Bean
+    public SimpleUrlHandlerMapping imagesHandlerMapping() {
+        return StaticFileHandler.handlerMapping("/images/**", "/tmp/uploads/");
     }
-}
\ No newline at end of file
+}
@@ -6,13 +6,16 @@ import com.example.AuthenticationManagement.dto.UserRequestDTO;
 import com.example.AuthenticationManagement.dto.UserResponseDTO;
 import com.example.AuthenticationManagement.service.JwtService;
 import com.example.AuthenticationManagement.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -75,12 +78,32 @@ public class UserController {
     public ResponseEntity<Map<String, String>> uploadProfileImage(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
         try {
             String fileName = userService.storeProfileImage(id, file);
-            String imageUrl = "http://localhost:8083/images/" + fileName;
-            Map<String, String> response = new HashMap<>();
-            response.put("imageUrl", imageUrl);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(imageResponse(fileName));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "Image upload failed"));
         }
     }
+
+    // Poza ca și corp al cererii (Content-Type image/*): citită în flux, fără spool multipart
+    @PostMapping(value = "/{id}/upload-image", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            MediaType.IMAGE_GIF_VALUE, "image/webp"})
+    public ResponseEntity<Map<String, String>> uploadProfileImageStream(@PathVariable Long id, HttpServletRequest request) {
+        try {
+            String fileName = userService.storeProfileImage(id, request.getInputStream(), request.getContentLengthLong());
+            return ResponseEntity.ok(imageResponse(fileName));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("error", "Image upload failed"));
+        }
+    }
+
+    // imaginile sunt servite chiar de acest serviciu (/images/**): URL-ul pornește de la gazda cererii curente
+    private Map<String, String> imageResponse(String fileName) {
+        String imageUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/images/{fileName}")
+                .buildAndExpand(fileName)
+                .toUriString();
+        Map<String, String> response = new HashMap<>();
+        response.put("imageUrl", imageUrl);
+        return response;
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,4 +19,5 @@ public interface UserService extends UserDetailsService {
     UserResponseDTO updateUser(Long id, UserRequestDTO dto);
     Optional<User> findByEmail(String email);
     String storeProfileImage(Long userId, MultipartFile file) throws IOException;
+    String storeProfileImage(Long userId, InputStream content, long contentLength) throws IOException;
 }
\ No newline at end of file
@@ -7,20 +7,24 @@ import com.example.AuthenticationManagement.mapper.UserMapper;
 import com.example.AuthenticationManagement.model.User;
 import com.example.AuthenticationManagement.repository.UserRepository;
 import com.example.AuthenticationManagement.service.UserService;
+import com.example.commons.storage.ContentAddressedStore;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,11 +32,18 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private static final String IMAGES_PATH = "/images/";
+
     private final Path rootLocation = Paths.get("/tmp/uploads");
+    // Pozele de profil sunt păstrate după hash-ul conținutului, citite în flux și limitate ca mărime
+    private final ContentAddressedStore imageStore;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           @Value("${uploads.max-bytes:10485760}") long maxUploadBytes,
+                           @Value("${uploads.max-concurrent:4}") int maxConcurrentUploads) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.imageStore = new ContentAddressedStore(rootLocation, maxUploadBytes, maxConcurrentUploads);
     }
 
     @Override
@@ -94,24 +105,71 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public String storeProfileImage(Long userId, MultipartFile file) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            return storeProfileImage(userId, content, file.getSize());
+        }
+    }
+
+    @Override
+    @Transactional
+    public String storeProfileImage(Long userId, InputStream content, long contentLength) throws IOException {
+        imageStore.checkDeclaredLength(contentLength);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + userId));
 
-        String originalFilename = file.getOriginalFilename() != null ? file.getOriginalFilename() : "file";
-        String fileName = UUID.randomUUID() + "_" + originalFilename;
+        String fileName = imageStore.store(content);
+        releaseImageUnlessCommitted(fileName);
 
-        if (Files.notExists(rootLocation)) {
-            Files.createDirectories(rootLocation);
+        // poza veche pierde o referință; fișierul rămâne dacă aceeași imagine e folosită și de alt utilizator
+        String previousImageUrl = user.getProfileImageUrl();
+        if (previousImageUrl != null && previousImageUrl.startsWith(IMAGES_PATH)) {
+            releaseImageAfterCommit(previousImageUrl.substring(IMAGES_PATH.length()));
         }
 
-        Path destinationFile = this.rootLocation.resolve(Paths.get(fileName)).normalize().toAbsolutePath();
-        Files.copy(file.getInputStream(), destinationFile);
-
-        String imageUrl = "/images/" + fileName;
+        String imageUrl = IMAGES_PATH + fileName;
         user.setProfileImageUrl(imageUrl);
         userRepository.save(user);
 
         return fileName;
     }
-}
\ No newline at end of file
+
+    /**
+     * Referința la poza veche dispare abia după commit: la rollback utilizatorul încă arată spre ea.
+     */
+    private void releaseImageAfterCommit(String fileName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseImageQuietly(fileName);
+                }
+            });
+        } else {
+            releaseImageQuietly(fileName);
+        }
+    }
+
+    // poza nouă, dacă salvarea sau commit-ul eșuează, nu rămâne cu o referință pe care n-o ține nimeni
+    private void releaseImageUnlessCommitted(String fileName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        releaseImageQuietly(fileName);
+                    }
+                }
+            });
+        }
+    }
+
+    private void releaseImageQuietly(String fileName) {
+        try {
+            imageStore.release(fileName);
+        } catch (IOException e) {
+            System.err.println("Could not delete image file: " + fileName + " " + e.getMessage());
+        }
+    }
+}
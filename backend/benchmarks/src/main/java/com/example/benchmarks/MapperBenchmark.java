@@ -0,0 +1,107 @@
+package com.example.benchmarks;
+
+import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.dto.ProductDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.mapper.OrderItemMapper;
+import com.example.Restaurant.mapper.OrderMapper;
+import com.example.Restaurant.mapper.ProductMapper;
+import com.example.Restaurant.model.Order;
+import com.example.Restaurant.model.Product;
+import com.example.ReservationManagement.dto.ReservationResponseDTO;
+import com.example.ReservationManagement.mapper.ReservationMapper;
+import com.example.ReservationManagement.model.Reservation;
+import com.example.logs_service.dto.LogResponseDTO;
+import com.example.logs_service.mapper.LogMapper;
+import com.example.logs_service.model.LogEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costul mapării entităților în DTO-uri, pentru o listă întreagă, cât întoarce un endpoint.
+ * Rulat cu {@code -prof gc}, {@code gc.alloc.rate.norm} arată octeții alocați pe listă.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    // un meniu de restaurant obișnuit și unul mare, de lanț
+    @Param({"60", "250"})
+    public int menuSize;
+
+    // comenzi, log-uri și rezervări într-o pagină de admin, respectiv un export
+    @Param({"100", "2000"})
+    public int historySize;
+
+    private List<Product> menu;
+    private List<Order> orders;
+    private List<LogEntry> logs;
+    private List<Reservation> reservations;
+
+    // OrderItemMapper.toDto(OrderItem) nu folosește repository-ul
+    private final OrderMapper orderMapper = new OrderMapper(new OrderItemMapper(null));
+    private final LogMapper logMapper = new LogMapper();
+
+    @Setup
+    public void setUp() {
+        SyntheticRestaurant restaurant = new SyntheticRestaurant(42);
+        menu = restaurant.menu(menuSize);
+        orders = restaurant.orders(menu, historySize);
+        logs = restaurant.logs(historySize);
+        reservations = restaurant.reservations(historySize);
+    }
+
+    @Benchmark
+    public List<ProductDTO> productToDto() {
+        List<ProductDTO> result = new ArrayList<>(menu.size());
+        for (Product product : menu) {
+            result.add(ProductMapper.toDTO(product));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ProductDetailDTO> productToDetailDto() {
+        List<ProductDetailDTO> result = new ArrayList<>(menu.size());
+        for (Product product : menu) {
+            result.add(ProductMapper.toDetailDTO(product));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<OrderDTO> orderToDto() {
+        return orderMapper.toDtoList(orders);
+    }
+
+    @Benchmark
+    public List<LogResponseDTO> logToDtoList() {
+        return logMapper.toDtoList(logs);
+    }
+
+    @Benchmark
+    public List<ReservationResponseDTO> reservationToDto() {
+        List<ReservationResponseDTO> result = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            result.add(ReservationMapper.toDto(reservation));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.benchmarks;
+
+import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.dto.ProductDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.mapper.OrderItemMapper;
+import com.example.Restaurant.mapper.OrderMapper;
+import com.example.Restaurant.mapper.ProductMapper;
+import com.example.Restaurant.model.Product;
+import com.example.ReservationManagement.dto.ReservationResponseDTO;
+import com.example.ReservationManagement.mapper.ReservationMapper;
+import com.example.logs_service.dto.LogResponseDTO;
+import com.example.logs_service.mapper.LogMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Serializarea JSON a listelor de DTO-uri, cu un ObjectMapper configurat ca cel din Spring Boot
+ * (datele calendaristice ca text ISO, nu ca vectori de numere). Maparea e făcută o singură dată, în setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"60", "250"})
+    public int menuSize;
+
+    @Param({"100", "2000"})
+    public int historySize;
+
+    private ObjectWriter writer;
+    private List<ProductDTO> products;
+    private List<ProductDetailDTO> productDetails;
+    private List<OrderDTO> orders;
+    private List<LogResponseDTO> logs;
+    private List<ReservationResponseDTO> reservations;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        SyntheticRestaurant restaurant = new SyntheticRestaurant(42);
+        List<Product> menu = restaurant.menu(menuSize);
+        products = menu.stream().map(ProductMapper::toDTO).collect(Collectors.toList());
+        productDetails = menu.stream().map(ProductMapper::toDetailDTO).collect(Collectors.toList());
+        orders = new OrderMapper(new OrderItemMapper(null)).toDtoList(restaurant.orders(menu, historySize));
+        logs = new LogMapper().toDtoList(restaurant.logs(historySize));
+        reservations = restaurant.reservations(historySize).stream().map(ReservationMapper::toDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] products() throws JsonProcessingException {
+        return writer.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] productDetails() throws JsonProcessingException {
+        return writer.writeValueAsBytes(productDetails);
+    }
+
+    @Benchmark
+    public byte[] orders() throws JsonProcessingException {
+        return writer.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] logs() throws JsonProcessingException {
+        return writer.writeValueAsBytes(logs);
+    }
+
+    @Benchmark
+    public byte[] reservations() throws JsonProcessingException {
+        return writer.writeValueAsBytes(reservations);
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.benchmarks;
+
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Ingredient;
+import com.example.Restaurant.model.Order;
+import com.example.Restaurant.model.OrderItem;
+import com.example.Restaurant.model.Product;
+import com.example.ReservationManagement.model.Reservation;
+import com.example.ReservationManagement.model.ReservationStatus;
+import com.example.logs_service.model.LogEntry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Date sintetice, dar cu forma celor din producție: un meniu cu categorii și ingrediente partajate între produse,
+ * comenzi de 1-8 produse din acel meniu, log-uri de audit și rezervări. Generatorul are sămânță fixă,
+ * deci două rulări ale benchmark-urilor lucrează pe exact aceleași obiecte.
+ */
+public final class SyntheticRestaurant {
+
+    private static final String[] CATEGORIES = {
+            "Aperitive", "Ciorbe și supe", "Salate", "Paste", "Pizza", "Preparate din pui", "Preparate din porc",
+            "Preparate din vită", "Pește și fructe de mare", "Garnituri", "Deserturi", "Băuturi răcoritoare"
+    };
+    private static final String[] INGREDIENTS = {
+            "roșii", "ceapă", "usturoi", "ardei gras", "ardei iute", "castraveți", "salată verde", "rucola", "spanac",
+            "ciuperci", "dovlecel", "vinete", "morcov", "țelină", "păstârnac", "cartofi", "porumb", "mazăre", "fasole",
+            "măsline", "capere", "busuioc", "oregano", "rozmarin", "cimbru", "pătrunjel", "mărar", "leuștean", "piper",
+            "boia afumată", "mozzarella", "parmezan", "gorgonzola", "telemea", "cașcaval", "smântână", "unt", "ouă",
+            "făină", "orez", "paste integrale", "piept de pui", "pulpă de pui", "ceafă de porc", "bacon", "prosciutto",
+            "salam picant", "mușchi de vită", "carne tocată", "somon", "ton", "creveți", "calamar", "midii", "lămâie",
+            "lime", "ulei de măsline", "oțet balsamic", "muștar", "maioneză", "sos de roșii", "sos de smântână",
+            "ciocolată neagră", "vanilie", "frișcă", "mascarpone", "cafea", "zahăr", "miere", "nuci", "migdale",
+            "fistic", "căpșuni", "afine", "zmeură", "mere", "portocale", "mentă", "ghimbir", "apă minerală"
+    };
+    private static final String[] DISH_BASES = {
+            "Ciorbă", "Salată", "Paste", "Pizza", "Friptură", "Frigărui", "Tochitură", "Risotto", "Burger", "Wrap",
+            "Tartă", "Papanași", "Clătite", "Limonadă", "Platou"
+    };
+    private static final String[] DISH_STYLES = {
+            "țărănească", "a casei", "cu smântână", "picantă", "de post", "la grătar", "cu legume", "cu brânzeturi",
+            "ca la bunica", "mediteraneană", "cu sos de ciuperci", "în stil italian"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Andrei", "Maria", "Ioana", "Mihai", "Elena", "Alexandru", "Ana", "Cristian", "Diana", "Gabriel", "Raluca",
+            "Ștefan", "Bianca", "Florin", "Oana", "Vlad", "Irina", "Radu", "Simona", "Tudor"
+    };
+    private static final String[] LAST_NAMES = {
+            "Popescu", "Ionescu", "Popa", "Stoica", "Constantin", "Dumitru", "Munteanu", "Stan", "Gheorghe", "Rusu",
+            "Marin", "Tudor", "Ciobanu", "Matei", "Lungu", "Moldovan"
+    };
+    private static final String[] STREETS = {
+            "Calea Victoriei", "Bulevardul Unirii", "Strada Memorandumului", "Strada Horea", "Bulevardul 21 Decembrie 1989",
+            "Strada Republicii", "Calea Turzii", "Strada Avram Iancu", "Strada Observatorului", "Calea Florești"
+    };
+    private static final String[][] LOG_TEMPLATES = {
+            {"PRODUCT", "CREATE", "Produsul '%s' a fost adăugat în meniu"},
+            {"PRODUCT", "UPDATE", "Produsul '%s' a fost actualizat"},
+            {"PRODUCT", "DELETE", "Produsul '%s' a fost șters din meniu"},
+            {"ORDER", "CREATE", "Comanda #%d a fost plasată de %s"},
+            {"ORDER", "DELETE", "Comanda #%d a fost anulată"},
+            {"RESERVATION", "CREATE", "Rezervare nouă pentru %s, %d persoane"},
+            {"RESERVATION", "UPDATE", "Statusul rezervării #%d a fost schimbat în %s"},
+            {"USER", "UPDATE", "Utilizatorul %s și-a actualizat profilul"}
+    };
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 15, 19, 30);
+
+    private final Random random;
+
+    public SyntheticRestaurant(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Produse cu categoria și 3-10 ingrediente, ca după încărcarea din baza de date:
+     * categoriile și ingredientele sunt aceleași instanțe în toate produsele care le folosesc.
+     */
+    public List<Product> menu(int size) {
+        List<Category> categories = new ArrayList<>(CATEGORIES.length);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            categories.add(Category.builder()
+                    .id((long) i + 1)
+                    .name(CATEGORIES[i])
+                    .description("Selecția noastră de " + CATEGORIES[i].toLowerCase() + ", pregătite zilnic din ingrediente locale.")
+                    .build());
+        }
+        List<Ingredient> ingredients = new ArrayList<>(INGREDIENTS.length);
+        for (int i = 0; i < INGREDIENTS.length; i++) {
+            ingredients.add(Ingredient.builder().id((long) i + 1).name(INGREDIENTS[i]).build());
+        }
+
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = pick(DISH_BASES) + " " + pick(DISH_STYLES) + (i >= DISH_BASES.length * DISH_STYLES.length ? " " + i : "");
+            Set<Ingredient> productIngredients = new HashSet<>();
+            int ingredientCount = 3 + random.nextInt(8);
+            while (productIngredients.size() < ingredientCount) {
+                productIngredients.add(ingredients.get(random.nextInt(ingredients.size())));
+            }
+            String image = "/images/" + hex(64);
+            products.add(Product.builder()
+                    .id((long) i + 1)
+                    .name(name)
+                    .description(description(name, productIngredients))
+                    .price(BigDecimal.valueOf(1500 + random.nextInt(8500), 2))
+                    .imageUrl(image + ".jpg")
+                    .imageThumbUrl(image + "-thumb.jpg")
+                    .imageCardUrl(image + "-card.jpg")
+                    .imageFullUrl(image + "-full.jpg")
+                    .category(categories.get(random.nextInt(categories.size())))
+                    .ingredients(productIngredients)
+                    .build());
+        }
+        return products;
+    }
+
+    /**
+     * Istoricul comenzilor pe ultimele 90 de zile, din produsele meniului primit.
+     */
+    public List<Order> orders(List<Product> menu, int size) {
+        List<Order> orders = new ArrayList<>(size);
+        long itemId = 1;
+        for (int i = 0; i < size; i++) {
+            Order order = Order.builder()
+                    .id((long) i + 1)
+                    .orderDate(NOW.minusMinutes(random.nextInt(90 * 24 * 60)))
+                    .customerName(customerName())
+                    .customerAddress(pick(STREETS) + " nr. " + (1 + random.nextInt(180)) + ", Cluj-Napoca")
+                    .build();
+            int itemCount = 1 + random.nextInt(8);
+            List<OrderItem> items = new ArrayList<>(itemCount);
+            BigDecimal total = BigDecimal.ZERO;
+            for (int j = 0; j < itemCount; j++) {
+                Product product = menu.get(random.nextInt(menu.size()));
+                int quantity = 1 + random.nextInt(4);
+                items.add(OrderItem.builder()
+                        .id(itemId++)
+                        .order(order)
+                        .product(product)
+                        .quantity(quantity)
+                        .priceAtOrder(product.getPrice())
+                        .build());
+                total = total.add(product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+            }
+            order.setOrderItems(items);
+            order.setTotalAmount(total.setScale(2, RoundingMode.HALF_UP));
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    public List<LogEntry> logs(int size) {
+        List<LogEntry> logs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String[] template = LOG_TEMPLATES[random.nextInt(LOG_TEMPLATES.length)];
+            String message = switch (template[0]) {
+                case "PRODUCT" -> String.format(template[2], pick(DISH_BASES) + " " + pick(DISH_STYLES));
+                case "ORDER" -> String.format(template[2], 1 + random.nextInt(100_000), customerName());
+                case "RESERVATION" -> template[1].equals("CREATE")
+                        ? String.format(template[2], customerName(), 1 + random.nextInt(12))
+                        : String.format(template[2], 1 + random.nextInt(100_000), pick(ReservationStatus.values()));
+                default -> String.format(template[2], customerName());
+            };
+            LogEntry entry = new LogEntry();
+            entry.setId((long) i + 1);
+            entry.setMessage(message);
+            entry.setTimestamp(NOW.minusSeconds(random.nextInt(30 * 24 * 3600)));
+            entry.setLogType(template[0]);
+            entry.setOperationType(template[1]);
+            logs.add(entry);
+        }
+        return logs;
+    }
+
+    public List<Reservation> reservations(int size) {
+        List<Reservation> reservations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // majoritatea seara, la ore fixe sau la jumătate
+            LocalDateTime dateTime = NOW.toLocalDate().plusDays(random.nextInt(30) - 7)
+                    .atTime(12 + random.nextInt(11), random.nextBoolean() ? 0 : 30);
+            int status = random.nextInt(10);
+            reservations.add(Reservation.builder()
+                    .id((long) i + 1)
+                    .customerName(customerName())
+                    .phoneNumber(String.format("07%02d %03d %03d", random.nextInt(100), random.nextInt(1000), random.nextInt(1000)))
+                    .reservationDateTime(dateTime)
+                    .numberOfPeople(1 + random.nextInt(12))
+                    .status(status < 6 ? ReservationStatus.CONFIRMED : status < 9 ? ReservationStatus.PENDING : ReservationStatus.CANCELLED)
+                    .build());
+        }
+        return reservations;
+    }
+
+    private String description(String name, Set<Ingredient> ingredients) {
+        StringBuilder description = new StringBuilder(name).append(" preparat(ă) cu ");
+        int i = 0;
+        for (Ingredient ingredient : ingredients) {
+            if (i++ > 0) {
+                description.append(i == ingredients.size() ? " și " : ", ");
+            }
+            description.append(ingredient.getName());
+        }
+        return description.append(". Porție de ").append(250 + random.nextInt(10) * 25).append(" g.").toString();
+    }
+
+    private String customerName() {
+        return pick(FIRST_NAMES) + " " + pick(LAST_NAMES);
+    }
+
+    private String hex(int length) {
+        StringBuilder hex = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
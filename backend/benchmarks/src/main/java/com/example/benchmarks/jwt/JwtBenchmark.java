@@ -0,0 +1,125 @@
+package com.example.benchmarks.jwt;
+
+import com.example.Restaurant.model.Role;
+import com.example.Restaurant.model.User;
+import com.example.Restaurant.service.JwtService;
+import com.example.Restaurant.service.impl.JwtServiceImpl;
+import com.example.commons.security.JwtVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costul JwtServiceImpl pe un singur fir, cu token-urile a {@value #SESSIONS} sesiuni active folosite pe rând.
+ * Variante:
+ * <ul>
+ *     <li>{@code legacy} - implementarea de dinainte de restaurant-commons ({@link LegacyJwtService})</li>
+ *     <li>{@code cachedParser} - JwtServiceImpl de azi, cu cheia și parserul construite o dată, fără cache de token-uri</li>
+ *     <li>{@code cachedTokens} - JwtServiceImpl de azi, configurat ca în servicii (jwt.cache.max-entries=10000)</li>
+ * </ul>
+ * {@link JwtContendedBenchmark} rulează aceleași metode pe toate nucleele.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class JwtBenchmark {
+
+    static final String SECRET_KEY = "bXktc3VwZXItc2VjcmV0LWtleS1mb3Itand0LXNhbXBsZS1hcHBsaWNhdGlvbg==";
+    static final long EXPIRATION_MILLIS = 86_400_000;
+    static final int SESSIONS = 1_000;
+
+    @Param({"legacy", "cachedParser", "cachedTokens"})
+    public String variant;
+
+    private JwtService jwtService;
+    private User[] users;
+    private UserDetails[] subjects;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        jwtService = switch (variant) {
+            case "legacy" -> new LegacyJwtService(SECRET_KEY, EXPIRATION_MILLIS);
+            case "cachedParser" -> new JwtServiceImpl(new JwtVerifier(SECRET_KEY, 0), EXPIRATION_MILLIS);
+            case "cachedTokens" -> new JwtServiceImpl(new JwtVerifier(SECRET_KEY, 10_000), EXPIRATION_MILLIS);
+            default -> throw new IllegalArgumentException("Variantă necunoscută: " + variant);
+        };
+
+        users = new User[SESSIONS];
+        subjects = new UserDetails[SESSIONS];
+        tokens = new String[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            users[i] = User.builder()
+                    .id((long) i + 1)
+                    .name("Angajat " + (i + 1))
+                    .email("angajat" + (i + 1) + "@restaurant.ro")
+                    .role(i % 10 == 0 ? Role.ADMIN : Role.EMPLOYEE)
+                    .build();
+            // subiectul token-ului este ID-ul, pe când User.getUsername() întoarce email-ul;
+            // cu un User, isTokenValid ar ieși la prima comparație și n-ar măsura drumul complet
+            subjects[i] = org.springframework.security.core.userdetails.User.withUsername(String.valueOf(i + 1))
+                    .password("")
+                    .authorities(users[i].getAuthorities())
+                    .build();
+            tokens[i] = jwtService.generateToken(users[i]);
+        }
+    }
+
+    /**
+     * Fiecare fir parcurge sesiunile de la alt punct de plecare, ca firele să nu lovească aceleași token-uri simultan.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        @Setup
+        public void setUp(ThreadParams threadParams) {
+            next = threadParams.getThreadIndex() * (SESSIONS / Math.max(1, threadParams.getThreadCount()));
+        }
+
+        int next() {
+            int index = next;
+            next = index + 1 == SESSIONS ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    @Benchmark
+    public String extractUsername(Cursor cursor) {
+        return jwtService.extractUsername(tokens[cursor.next()]);
+    }
+
+    @Benchmark
+    public String extractName(Cursor cursor) {
+        return jwtService.extractName(tokens[cursor.next()]);
+    }
+
+    @Benchmark
+    public boolean isTokenValid(Cursor cursor) {
+        int index = cursor.next();
+        return jwtService.isTokenValid(tokens[index], subjects[index]);
+    }
+
+    @Benchmark
+    public String generateToken(Cursor cursor) {
+        return jwtService.generateToken(users[cursor.next()]);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.benchmarks.jwt;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Aceleași metode ca {@link JwtBenchmark}, cu câte un fir pe nucleu pe aceeași instanță de serviciu,
+ * ca sub încărcare reală: firele concurează pe cache-ul de token-uri și pe contoarele de metrici.
+ * Scorul este debitul cumulat al tuturor firelor.
+ */
+@Threads(Threads.MAX)
+public class JwtContendedBenchmark extends JwtBenchmark {
+}
@@ -1,17 +1,19 @@
 package com.example.gallery_service.config;
 
+import com.example.commons.web.StaticFileHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/uploads/gallery/**")
-                .addResourceLocations("file:/tmp/uploads/gallery/");
+    // Imaginile au nume UUID și nu se schimbă: cache imutabil, Range și trimitere fără copiere prin heap
+    @Bean
+    public SimpleUrlHandlerMapping galleryImagesHandlerMapping() {
+        return StaticFileHandler.handlerMapping("/uploads/gallery/**", "/tmp/uploads/gallery/");
     }
 
     @Override
@@ -1,26 +1,26 @@
 package com.example.gallery_service.service.impl;
 
+import com.example.commons.storage.ContentAddressedStore;
 import com.example.gallery_service.service.FileStorageService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.io.InputStream;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
 
 @Service
 public class FileStorageServiceImpl implements FileStorageService {
 
     private final String uploadDir = "/tmp/uploads/gallery";
-    private final Path fileStorageLocation;
+    // Aceeași poză încărcată de mai multe ori este păstrată o singură dată (nume = SHA-256 al conținutului)
+    private final ContentAddressedStore store;
 
-    public FileStorageServiceImpl() {
-        this.fileStorageLocation = Paths.get(this.uploadDir).toAbsolutePath().normalize();
+    public FileStorageServiceImpl(@Value("${uploads.max-bytes:10485760}") long maxBytes,
+                                  @Value("${uploads.max-concurrent:4}") int maxConcurrentUploads) {
         try {
-            Files.createDirectories(this.fileStorageLocation);
+            this.store = new ContentAddressedStore(Paths.get(this.uploadDir), maxBytes, maxConcurrentUploads);
         } catch (Exception ex) {
             throw new RuntimeException("Nu s-a putut crea directorul pentru stocarea fișierelor.", ex);
         }
@@ -29,28 +29,21 @@ public class FileStorageServiceImpl implements FileStorageService {
     @Override
     public String storeFile(MultipartFile file) {
         String originalFileName = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = "";
-        try {
-            fileExtension = originalFileName.substring(originalFileName.lastIndexOf("."));
-        } catch (Exception e) {
-        }
-        String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
-        try {
-            Path targetLocation = this.fileStorageLocation.resolve(uniqueFileName);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            return uniqueFileName;
+        store.checkDeclaredLength(file.getSize());
+        try (InputStream content = file.getInputStream()) {
+            return store.store(content);
         } catch (IOException ex) {
-            throw new RuntimeException("Nu s-a putut stoca fișierul " + uniqueFileName, ex);
+            throw new RuntimeException("Nu s-a putut stoca fișierul " + originalFileName, ex);
         }
     }
 
     @Override
     public void deleteFile(String fileName) {
         try {
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Files.deleteIfExists(filePath);
+            // fișierul rămâne pe disc cât timp îl mai folosește alt eveniment
+            store.release(fileName);
         } catch (IOException ex) {
             throw new RuntimeException("Nu s-a putut șterge fișierul " + fileName, ex);
         }
     }
-}
\ No newline at end of file
+}
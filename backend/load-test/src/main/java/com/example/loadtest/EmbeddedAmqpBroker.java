@@ -0,0 +1,72 @@
+package com.example.loadtest;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Broker AMQP 0-9-1 (Qpid Broker-J) pornit în același JVM, în locul RabbitMQ-ului de pe Railway.
+ * Totul stă în memorie; utilizatorul este guest/guest, iar portul este ales liber la pornire.
+ * Acceptă confirmările de publicare, pe care le folosesc relay-ul de outbox și publisher-ul din restaurant-commons.
+ */
+public class EmbeddedAmqpBroker implements AutoCloseable {
+
+    public static final String USERNAME = "guest";
+    public static final String PASSWORD = "guest";
+
+    private final SystemLauncher launcher = new SystemLauncher();
+    private final int port;
+
+    private EmbeddedAmqpBroker(int port) {
+        this.port = port;
+    }
+
+    public static EmbeddedAmqpBroker start(Path workDir) throws Exception {
+        URL initialConfig = resource("/qpid-broker.json");
+        URL systemProperties = resource("/qpid-system.properties");
+        EmbeddedAmqpBroker broker = new EmbeddedAmqpBroker(freePort());
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("qpid.amqp_port", broker.port);
+        context.put(SystemConfig.QPID_WORK_DIR, workDir.toAbsolutePath().toString());
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SystemConfig.TYPE, "Memory");
+        attributes.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION, initialConfig.toExternalForm());
+        attributes.put(SystemConfig.INITIAL_SYSTEM_PROPERTIES_LOCATION, systemProperties.toExternalForm());
+        attributes.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributes.put(SystemConfig.CONTEXT, context);
+        broker.launcher.startup(attributes);
+        return broker;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public void close() {
+        launcher.shutdown();
+    }
+
+    private static URL resource(String name) {
+        URL url = EmbeddedAmqpBroker.class.getResource(name);
+        if (url == null) {
+            throw new IllegalStateException("Configurația broker-ului lipsește din classpath: " + name);
+        }
+        return url;
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        }
+    }
+}
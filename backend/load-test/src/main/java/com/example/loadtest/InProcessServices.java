@@ -0,0 +1,117 @@
+package com.example.loadtest;
+
+import com.example.ReservationManagement.ReservationManagementApplication;
+import com.example.Restaurant.RestaurantApplication;
+import com.example.logs_service.LogsServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pornește serviciile de produse, rezervări și log-uri în același JVM, fiecare cu contextul lui Spring,
+ * pe un port liber, cu propriul application.properties (copiat în classpath sub services/&lt;nume&gt;/).
+ * Din configurație sunt înlocuite doar infrastructura și căile de pe disc:
+ * MySQL devine H2 în modul MySQL, iar RabbitMQ devine broker-ul din {@link EmbeddedAmqpBroker}.
+ */
+public class InProcessServices implements AutoCloseable {
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final int amqpPort;
+    private final Path workDir;
+    private final boolean virtualThreads;
+    private final PrintStream console;
+
+    private URI productUri;
+    private URI reservationUri;
+    private URI logsUri;
+    private ConfigurableApplicationContext product;
+
+    public InProcessServices(int amqpPort, Path workDir, boolean virtualThreads, PrintStream console) {
+        this.amqpPort = amqpPort;
+        this.workDir = workDir;
+        this.virtualThreads = virtualThreads;
+        this.console = console;
+    }
+
+    public void start() {
+        // logs-service declară logs_exchange și coada, deci pornește primul
+        // logs-service nu are Spring Security în pom, dar aici împarte classpath-ul cu celelalte două
+        logsUri = baseUri(start("logs", LogsServiceApplication.class,
+                "--spring.autoconfigure.exclude=" + String.join(",",
+                        "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration",
+                        "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration",
+                        "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration")));
+        product = start("product", RestaurantApplication.class,
+                "--product.images.upload-dir=" + workDir.resolve("product-images") + "/",
+                // H2 nu acceptă fetch size-ul negativ cu care Connector/J citește exportul în flux
+                "--orders.export.fetch-size=500");
+        productUri = baseUri(product);
+        reservationUri = baseUri(start("reservation", ReservationManagementApplication.class,
+                "--reservations.log-journal.path=" + workDir.resolve("reservation-log-journal.dat")));
+    }
+
+    private ConfigurableApplicationContext start(String name, Class<?> application, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.config.location=classpath:/services/" + name + "/",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=USER",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.rabbitmq.host=localhost",
+                "--spring.rabbitmq.port=" + amqpPort,
+                "--spring.rabbitmq.username=" + EmbeddedAmqpBroker.USERNAME,
+                "--spring.rabbitmq.password=" + EmbeddedAmqpBroker.PASSWORD));
+        if (virtualThreads) {
+            args.add("--spring.profiles.active=virtual-threads");
+        }
+        args.addAll(List.of(extraArgs));
+
+        long startedAt = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application).run(args.toArray(String[]::new));
+        contexts.add(context);
+        console.printf("%s-service pornit pe %s în %d ms%n", name, baseUri(context), (System.nanoTime() - startedAt) / 1_000_000);
+        return context;
+    }
+
+    public URI getProductUri() {
+        return productUri;
+    }
+
+    public URI getReservationUri() {
+        return reservationUri;
+    }
+
+    public URI getLogsUri() {
+        return logsUri;
+    }
+
+    // Pentru token-urile de admin: aceeași cheie cu care serviciile verifică
+    public <T> T getProductBean(Class<T> type) {
+        return product.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        // în ordinea inversă pornirii, ca logs-service să mai primească ultimele log-uri
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            try {
+                contexts.get(i).close();
+            } catch (Exception e) {
+                System.err.println("### Eroare la oprirea unui serviciu: " + e.getMessage());
+            }
+        }
+    }
+
+    private static URI baseUri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latențele pe endpoint, în microsecunde, în câte un {@link Recorder} HdrHistogram (scriere fără blocare,
+ * din oricâte fire). Cererile cu eroare (status 4xx/5xx, timeout, conexiune refuzată) sunt doar numărate,
+ * ca o eroare rapidă să nu îmbunătățească percentilele.
+ */
+public class LatencyRecorder {
+
+    // de la 1 µs la 1 minut, cu 3 cifre semnificative
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private volatile boolean recording;
+
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        if (success) {
+            stats.latencies.recordValue(Math.min(Math.max(1, latencyNanos / 1_000), HIGHEST_TRACKABLE_MICROS));
+        } else {
+            stats.errors.increment();
+        }
+    }
+
+    // Încălzirea nu este înregistrată
+    public void startRecording() {
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+    }
+
+    public void printReport(PrintStream out, double elapsedSeconds) {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+
+        out.printf("%n%-38s %9s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Cereri", "Erori", "Cereri/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram histogram = entry.getValue().latencies.getIntervalHistogram();
+            long errors = entry.getValue().errors.sum();
+            total.add(histogram);
+            totalErrors += errors;
+            printLine(out, entry.getKey(), histogram, errors, elapsedSeconds);
+        }
+        printLine(out, "TOTAL", total, totalErrors, elapsedSeconds);
+    }
+
+    private static void printLine(PrintStream out, String name, Histogram histogram, long errors, double elapsedSeconds) {
+        long count = histogram.getTotalCount();
+        out.printf("%-38s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, count, errors, (count + errors) / elapsedSeconds,
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1_000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    private static class Endpoint {
+        private final Recorder latencies = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.loadtest;
+
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Rulează traficul: {@code clients} clienți în buclă închisă (fiecare trimite următoarea cerere după ce o primește
+ * pe cea anterioară), fiecare pe firul virtual lui, plus valuri periodice de comenzi de la agentul telefonic,
+ * câte un fir virtual pe comandă, toate odată.
+ * <p>
+ * Fiind în buclă închisă, un serviciu lent reduce și ritmul cererilor; de aceea limita de scalare se vede
+ * crescând {@code --clients} de la o rulare la alta, până când debitul nu mai crește și p99 o ia în sus.
+ * Tot de aceea percentilele din bucla închisă sunt optimiste (coordinated omission): cât timp un client așteaptă
+ * o cerere blocată, cererile pe care le-ar fi trimis între timp nu sunt măsurate deloc.
+ * <p>
+ * Cu {@code --rate} clienții sunt înlocuiți de un dispecer în buclă deschisă: cererile pleacă la intervale fixe,
+ * fiecare pe firul virtual ei, iar latența se măsoară de la momentul programat, deci o pauză a serviciului
+ * apare în percentile pentru toate cererile care ar fi trebuit să plece în timpul ei.
+ */
+public class LoadDriver {
+
+    private final LoadTestOptions options;
+    private final TrafficMix mix;
+    private final RestaurantClient client;
+    private final LatencyRecorder recorder;
+    private final PrintStream console;
+
+    private volatile boolean running;
+
+    public LoadDriver(LoadTestOptions options, TrafficMix mix, RestaurantClient client, LatencyRecorder recorder, PrintStream console) {
+        this.options = options;
+        this.mix = mix;
+        this.client = client;
+        this.recorder = recorder;
+        this.console = console;
+    }
+
+    /**
+     * Întoarce durata măsurată, în secunde.
+     */
+    public double run() throws InterruptedException {
+        running = true;
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        // doar declanșează valurile; comenzile pleacă de pe fire virtuale
+        ScheduledExecutorService bursts = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "phone-order-bursts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Thread dispatcher = null;
+        try {
+            if (options.rate() > 0) {
+                // fir de platformă: ritmul nu trebuie să depindă de cât de ocupate sunt firele purtătoare
+                dispatcher = new Thread(() -> openLoop(clients), "open-loop-dispatcher");
+                dispatcher.setDaemon(true);
+                dispatcher.start();
+            } else {
+                for (int i = 0; i < options.clients(); i++) {
+                    clients.submit(this::clientLoop);
+                }
+            }
+            if (options.burstSize() > 0) {
+                bursts.scheduleAtFixedRate(() -> {
+                    long intendedAt = System.nanoTime();
+                    for (int i = 0; i < options.burstSize(); i++) {
+                        LoadRequest order = mix.phoneOrder(ThreadLocalRandom.current());
+                        clients.submit(() -> client.send(order, intendedAt));
+                    }
+                }, options.burstIntervalMillis(), options.burstIntervalMillis(), TimeUnit.MILLISECONDS);
+            }
+
+            console.printf("Încălzire %d s cu %s...%n", options.warmupSeconds(),
+                    options.rate() > 0 ? options.rate() + " cereri/s în buclă deschisă" : options.clients() + " clienți");
+            TimeUnit.SECONDS.sleep(options.warmupSeconds());
+
+            console.printf("Măsurare %d s...%n", options.durationSeconds());
+            recorder.startRecording();
+            long startedAt = System.nanoTime();
+            TimeUnit.SECONDS.sleep(options.durationSeconds());
+            recorder.stopRecording();
+            return (System.nanoTime() - startedAt) / 1e9;
+        } finally {
+            running = false;
+            if (dispatcher != null) {
+                dispatcher.join();
+            }
+            bursts.shutdownNow();
+            clients.shutdown();
+            if (!clients.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("### Unii clienți nu s-au oprit în 30 s; cererile lor sunt abandonate");
+                clients.shutdownNow();
+            }
+        }
+    }
+
+    private void openLoop(ExecutorService clients) {
+        long intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / options.rate());
+        Random random = new Random();
+        long next = System.nanoTime();
+        while (running) {
+            long intendedAt = next;
+            LoadRequest request = mix.next(random);
+            clients.submit(() -> client.send(request, intendedAt));
+            // dacă dispecerul a rămas în urmă, cererile restante pleacă imediat, dar cu momentul lor programat
+            next += intervalNanos;
+            LockSupport.parkNanos(next - System.nanoTime());
+        }
+    }
+
+    private void clientLoop() {
+        Random random = ThreadLocalRandom.current();
+        while (running) {
+            client.send(mix.next(random));
+            if (options.thinkMillis() > 0) {
+                try {
+                    Thread.sleep(options.thinkMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.loadtest;
+
+import java.net.http.HttpRequest;
+
+/**
+ * O cerere gata de trimis, cu numele sub care îi este raportată latența (metoda și șablonul căii, ex. "PUT /api/products/{id}").
+ */
+public record LoadRequest(String endpoint, HttpRequest request) {
+}
@@ -0,0 +1,99 @@
+package com.example.loadtest;
+
+import com.example.commons.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Test de încărcare fără infrastructură externă: broker AMQP în memorie, serviciile de produse, rezervări și log-uri
+ * în același JVM pe H2, datele create prin API, apoi traficul din {@link TrafficMix} de pe fire virtuale.
+ * La final tipărește debitul și percentilele de latență pe endpoint. Implicit clienții sunt în buclă închisă;
+ * cu {@code --rate} cererile pleacă la ritm fix (vezi {@link LoadDriver}).
+ * <p>
+ * Clienții și serviciile împart același procesor, deci numerele sunt utile pentru comparații între rulări
+ * (înainte/după o optimizare, cu și fără {@code --virtual-threads=true}), nu ca valori absolute de producție.
+ */
+public class LoadTestApplication {
+
+    private static final int SEEDED_RESERVATIONS = 200;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path workDir = Files.createTempDirectory("restaurant-load-test");
+        // listener-ul de log-uri scrie în System.out la fiecare mesaj; raportul are nevoie de consolă curată
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        console.println("Opțiuni: " + options);
+
+        ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        try (EmbeddedAmqpBroker broker = EmbeddedAmqpBroker.start(workDir.resolve("broker"));
+             InProcessServices services = new InProcessServices(broker.getPort(), workDir, options.virtualThreads(), console)) {
+            console.println("Broker AMQP pornit pe portul " + broker.getPort());
+            services.start();
+
+            String adminToken = adminToken(services.getProductBean(JwtVerifier.class),
+                    TimeUnit.SECONDS.toMillis(options.warmupSeconds() + options.durationSeconds()) + TimeUnit.HOURS.toMillis(1));
+            LatencyRecorder recorder = new LatencyRecorder();
+            RestaurantClient client = new RestaurantClient(httpExecutor, recorder, adminToken);
+
+            long seedingStartedAt = System.nanoTime();
+            RestaurantSeeder.SeededRestaurant restaurant = new RestaurantSeeder(client, services.getProductUri(), services.getReservationUri())
+                    .seed(options.menuSize(), SEEDED_RESERVATIONS);
+            console.printf("Meniu de %d produse și %d rezervări create în %d ms%n", restaurant.products().size(),
+                    restaurant.reservationIds().size(), (System.nanoTime() - seedingStartedAt) / 1_000_000);
+
+            TrafficMix mix = new TrafficMix(client, services.getProductUri(), services.getReservationUri(), services.getLogsUri(),
+                    restaurant, options);
+            double elapsedSeconds = new LoadDriver(options, mix, client, recorder, console).run();
+
+            console.printf("%nRezultate: %s, %.1f s măsurate, servicii pe %s, %d procesoare%n",
+                    options.rate() > 0 ? options.rate() + " cereri/s în buclă deschisă" : options.clients() + " clienți",
+                    elapsedSeconds, options.virtualThreads() ? "fire virtuale" : "fire de platformă",
+                    Runtime.getRuntime().availableProcessors());
+            recorder.printReport(console, elapsedSeconds);
+            if (options.rate() == 0) {
+                console.println("Atenție: clienții sunt în buclă închisă, deci percentilele nu includ cererile care ar fi plecat"
+                        + " cât timp un client aștepta un răspuns lent (coordinated omission). Pentru latențe reale sub"
+                        + " o încărcare dată, rulați cu --rate=<cereri pe secundă>.");
+            }
+        } finally {
+            httpExecutor.shutdownNow();
+            deleteRecursively(workDir);
+        }
+        // firele lui Qpid și ale clientului AMQP nu sunt toate daemon
+        System.exit(0);
+    }
+
+    // Un utilizator de admin, semnat cu aceeași cheie cu care serviciile verifică token-urile
+    private static String adminToken(JwtVerifier jwtVerifier, long validityMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(Map.of("roles", List.of("ADMIN"), "name", "Test de încărcare", "email", "load-test@restaurant.ro"))
+                .setSubject("1")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validityMillis))
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (Exception e) {
+            System.err.println("### Eroare la ștergerea directorului temporar " + dir + ": " + e.getMessage());
+        }
+    }
+}
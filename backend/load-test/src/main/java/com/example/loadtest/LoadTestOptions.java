@@ -0,0 +1,68 @@
+package com.example.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opțiunile din linia de comandă, de forma {@code --nume=valoare}; cele lipsă iau valorile implicite de mai jos.
+ *
+ * @param warmupSeconds       încălzire (JIT, pool-uri, cache-uri), neînregistrată
+ * @param durationSeconds     durata măsurată
+ * @param clients             clienți simultani, fiecare pe firul virtual lui, în buclă închisă
+ * @param thinkMillis         pauza unui client între două cereri (0 = cât de repede răspund serviciile)
+ * @param rate                cereri pe secundă trimise în buclă deschisă, la ritm fix, indiferent de cât răspund
+ *                            serviciile (0 = clienții în buclă închisă de mai sus)
+ * @param menuWeight          ponderea citirilor de meniu în mix
+ * @param reservationWeight   ponderea rezervărilor noi în mix
+ * @param adminWeight         ponderea operațiilor din panoul de admin în mix
+ * @param burstSize           comenzi plasate simultan de agentul telefonic la fiecare val
+ * @param burstIntervalMillis intervalul dintre două valuri de comenzi
+ * @param menuSize            produse în meniul creat la pornire
+ * @param virtualThreads      serviciile rulează cu profilul virtual-threads (cererile HTTP pe fire virtuale)
+ */
+public record LoadTestOptions(int warmupSeconds,
+                              int durationSeconds,
+                              int clients,
+                              long thinkMillis,
+                              int rate,
+                              int menuWeight,
+                              int reservationWeight,
+                              int adminWeight,
+                              int burstSize,
+                              long burstIntervalMillis,
+                              int menuSize,
+                              boolean virtualThreads) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argument invalid (se așteaptă --nume=valoare): " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                intValue(values, "warmup", 15),
+                intValue(values, "duration", 60),
+                intValue(values, "clients", 200),
+                intValue(values, "think-ms", 0),
+                intValue(values, "rate", 0),
+                intValue(values, "menu-weight", 75),
+                intValue(values, "reservation-weight", 15),
+                intValue(values, "admin-weight", 10),
+                intValue(values, "burst-size", 40),
+                intValue(values, "burst-interval-ms", 10_000),
+                intValue(values, "menu-size", 120),
+                Boolean.parseBoolean(values.remove("virtual-threads")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Opțiuni necunoscute: " + values.keySet());
+        }
+        return options;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.remove(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Clientul HTTP comun al tuturor clienților virtuali. Cererile sunt blocante: pe un fir virtual,
+ * așteptarea răspunsului eliberează firul purtător, deci mii de clienți nu costă mii de fire de sistem.
+ */
+public class RestaurantClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final LatencyRecorder recorder;
+    private final String adminToken;
+
+    public RestaurantClient(ExecutorService executor, LatencyRecorder recorder, String adminToken) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.recorder = recorder;
+        this.adminToken = adminToken;
+    }
+
+    public HttpRequest.Builder get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET();
+    }
+
+    public HttpRequest.Builder adminGet(URI uri) {
+        return get(uri).header("Authorization", "Bearer " + adminToken);
+    }
+
+    public HttpRequest.Builder json(String method, URI uri, Object body) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(toJson(body)));
+    }
+
+    public HttpRequest.Builder adminJson(String method, URI uri, Object body) {
+        return json(method, uri, body).header("Authorization", "Bearer " + adminToken);
+    }
+
+    /**
+     * Trimite cererea și înregistrează latența sub numele endpoint-ului; corpul răspunsului este citit și aruncat.
+     */
+    public void send(LoadRequest request) {
+        send(request, System.nanoTime());
+    }
+
+    /**
+     * Latența este măsurată de la momentul la care cererea ar fi trebuit să plece ({@code intendedStartNanos}),
+     * nu de la cel la care a plecat efectiv: așteptarea unei cereri întârziate face parte din ce vede utilizatorul.
+     */
+    public void send(LoadRequest request, long intendedStartNanos) {
+        long startedAt = intendedStartNanos;
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(request.request(), HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        recorder.record(request.endpoint(), System.nanoTime() - startedAt, success);
+    }
+
+    /**
+     * Pentru pregătirea datelor: cererea trebuie să reușească, iar răspunsul este citit ca JSON.
+     */
+    public <T> T exchange(HttpRequest request, Class<T> responseType) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(request.method() + " " + request.uri() + " a întors " + response.statusCode());
+            }
+            return objectMapper.readValue(response.body(), responseType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Pregătirea datelor a fost întreruptă", e);
+        }
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Corp de cerere neserializabil: " + body, e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.loadtest;
+
+import com.example.ReservationManagement.dto.ReservationResponseDTO;
+import com.example.ReservationManagement.dto.UserReservationRequestDTO;
+import com.example.Restaurant.dto.CategoryDTO;
+import com.example.Restaurant.dto.IngredientDTO;
+import com.example.Restaurant.dto.ProductDTO;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Creează, prin API-ul serviciilor (ca panoul de admin), meniul și primele rezervări pe care rulează traficul.
+ * Sămânța este fixă, deci două rulări pornesc de la aceleași date.
+ */
+public class RestaurantSeeder {
+
+    private static final String[] CATEGORIES = {
+            "Aperitive", "Ciorbe și supe", "Salate", "Paste", "Pizza", "Preparate din pui", "Preparate din porc",
+            "Preparate din vită", "Pește", "Garnituri", "Deserturi", "Băuturi"
+    };
+    private static final String[] INGREDIENTS = {
+            "roșii", "ceapă", "usturoi", "ardei gras", "ardei iute", "castraveți", "salată verde", "rucola", "ciuperci",
+            "dovlecel", "vinete", "morcov", "cartofi", "porumb", "măsline", "busuioc", "oregano", "rozmarin", "pătrunjel",
+            "mărar", "mozzarella", "parmezan", "gorgonzola", "telemea", "cașcaval", "smântână", "unt", "ouă", "orez",
+            "piept de pui", "ceafă de porc", "bacon", "mușchi de vită", "somon", "creveți", "lămâie", "ulei de măsline",
+            "ciocolată", "frișcă", "nuci"
+    };
+    static final String[] DISHES = {
+            "Ciorbă", "Salată", "Paste", "Pizza", "Friptură", "Frigărui", "Tochitură", "Risotto", "Burger", "Wrap",
+            "Tartă", "Papanași", "Clătite", "Limonadă", "Platou"
+    };
+    private static final String[] STYLES = {
+            "țărănească", "a casei", "cu smântână", "picantă", "de post", "la grătar", "cu legume", "cu brânzeturi",
+            "ca la bunica", "mediteraneană"
+    };
+    static final String[] FIRST_NAMES = {
+            "Andrei", "Maria", "Ioana", "Mihai", "Elena", "Alexandru", "Ana", "Cristian", "Diana", "Gabriel", "Raluca",
+            "Ștefan", "Bianca", "Florin", "Oana", "Vlad"
+    };
+    static final String[] LAST_NAMES = {
+            "Popescu", "Ionescu", "Popa", "Stoica", "Constantin", "Dumitru", "Munteanu", "Stan", "Gheorghe", "Rusu"
+    };
+
+    private final RestaurantClient client;
+    private final URI productUri;
+    private final URI reservationUri;
+    private final Random random = new Random(42);
+
+    public RestaurantSeeder(RestaurantClient client, URI productUri, URI reservationUri) {
+        this.client = client;
+        this.productUri = productUri;
+        this.reservationUri = reservationUri;
+    }
+
+    public SeededRestaurant seed(int menuSize, int reservations) {
+        List<Long> categoryIds = new ArrayList<>();
+        for (String name : CATEGORIES) {
+            CategoryDTO category = CategoryDTO.builder().name(name).description("Selecția noastră de " + name.toLowerCase()).build();
+            categoryIds.add(client.exchange(client.adminJson("POST", productUri.resolve("/api/categories"), category).build(),
+                    CategoryDTO.class).getId());
+        }
+        List<Long> ingredientIds = new ArrayList<>();
+        for (String name : INGREDIENTS) {
+            IngredientDTO ingredient = IngredientDTO.builder().name(name).build();
+            ingredientIds.add(client.exchange(client.adminJson("POST", productUri.resolve("/api/ingredients"), ingredient).build(),
+                    IngredientDTO.class).getId());
+        }
+
+        List<ProductDTO> products = new ArrayList<>(menuSize);
+        for (int i = 0; i < menuSize; i++) {
+            Set<Long> productIngredients = new HashSet<>();
+            int ingredientCount = 3 + random.nextInt(6);
+            while (productIngredients.size() < ingredientCount) {
+                productIngredients.add(ingredientIds.get(random.nextInt(ingredientIds.size())));
+            }
+            ProductDTO product = ProductDTO.builder()
+                    .name(pick(DISHES) + " " + pick(STYLES) + " " + (i + 1))
+                    .description("Porție de " + (250 + random.nextInt(10) * 25) + " g, pregătită zilnic din ingrediente locale.")
+                    .price(BigDecimal.valueOf(1500 + random.nextInt(8500), 2))
+                    .categoryId(categoryIds.get(random.nextInt(categoryIds.size())))
+                    .ingredientIds(productIngredients)
+                    .build();
+            products.add(client.exchange(client.adminJson("POST", productUri.resolve("/api/products"), product).build(),
+                    ProductDTO.class));
+        }
+
+        List<Long> reservationIds = new ArrayList<>(reservations);
+        for (int i = 0; i < reservations; i++) {
+            reservationIds.add(client.exchange(client.json("POST", reservationUri.resolve("/api/reservations/user"),
+                    reservation(random)).build(), ReservationResponseDTO.class).getId());
+        }
+        return new SeededRestaurant(categoryIds, ingredientIds, products, reservationIds);
+    }
+
+    static UserReservationRequestDTO reservation(Random random) {
+        LocalDateTime dateTime = LocalDate.now().plusDays(1 + random.nextInt(30))
+                .atTime(12 + random.nextInt(11), random.nextBoolean() ? 0 : 30);
+        return UserReservationRequestDTO.builder()
+                .customerName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                .phoneNumber(String.format("07%02d %03d %03d", random.nextInt(100), random.nextInt(1000), random.nextInt(1000)))
+                .reservationDateTime(dateTime)
+                .numberOfPeople(1 + random.nextInt(10))
+                .build();
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    public record SeededRestaurant(List<Long> categoryIds,
+                                   List<Long> ingredientIds,
+                                   List<ProductDTO> products,
+                                   List<Long> reservationIds) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.loadtest;
+
+import com.example.ReservationManagement.dto.UpdateReservationStatusDTO;
+import com.example.ReservationManagement.model.ReservationStatus;
+import com.example.Restaurant.dto.CreateOrderRequest;
+import com.example.Restaurant.dto.OrderItemRequestDTO;
+import com.example.Restaurant.dto.ProductDTO;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Traficul unei zile obișnuite, ca listă ponderată de cereri. Pe grupe:
+ * <ul>
+ *     <li>citiri de meniu din aplicația clienților (meniul întreg, detalii, filtre, căutare)</li>
+ *     <li>rezervări noi din formularul public</li>
+ *     <li>panoul de admin: prețuri schimbate, statusuri de rezervări, istoricul comenzilor, log-uri</li>
+ * </ul>
+ * Comenzile agentului telefonic nu fac parte din mix; ele vin în valuri, din {@link #phoneOrder}.
+ */
+public class TrafficMix {
+
+    private final RestaurantClient client;
+    private final URI productUri;
+    private final URI reservationUri;
+    private final URI logsUri;
+    private final RestaurantSeeder.SeededRestaurant restaurant;
+
+    private final List<Function<Random, LoadRequest>> operations = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    public TrafficMix(RestaurantClient client, URI productUri, URI reservationUri, URI logsUri,
+                      RestaurantSeeder.SeededRestaurant restaurant, LoadTestOptions options) {
+        this.client = client;
+        this.productUri = productUri;
+        this.reservationUri = reservationUri;
+        this.logsUri = logsUri;
+        this.restaurant = restaurant;
+
+        // ponderile din interiorul grupelor sunt la sută din grupă
+        int menu = options.menuWeight();
+        add(menu * 35, random -> gzipGet("GET /api/products", "/api/products"));
+        add(menu * 20, random -> gzipGet("GET /api/products/details", "/api/products/details"));
+        add(menu * 15, random -> get("GET /api/categories", productUri, "/api/categories"));
+        add(menu * 15, random -> get("GET /api/products/filter", productUri, "/api/products/filter?size=20&categoryId="
+                + pick(restaurant.categoryIds(), random)));
+        add(menu * 10, random -> get("GET /api/products/search", productUri, "/api/products/search?q="
+                + URLEncoder.encode(RestaurantSeeder.DISHES[random.nextInt(RestaurantSeeder.DISHES.length)].substring(0, 4)
+                .toLowerCase(), StandardCharsets.UTF_8)));
+        add(menu * 5, random -> get("GET /api/products/{id}", productUri, "/api/products/"
+                + pick(restaurant.products(), random).getId()));
+
+        add(options.reservationWeight() * 100, random -> new LoadRequest("POST /api/reservations/user",
+                client.json("POST", reservationUri.resolve("/api/reservations/user"), RestaurantSeeder.reservation(random)).build()));
+
+        int admin = options.adminWeight();
+        add(admin * 25, this::changePrice);
+        add(admin * 25, this::changeReservationStatus);
+        add(admin * 20, random -> new LoadRequest("GET /api/orders/history",
+                client.adminGet(productUri.resolve("/api/orders/history?size=50")).build()));
+        add(admin * 15, random -> new LoadRequest("GET /api/reservations",
+                client.adminGet(reservationUri.resolve("/api/reservations")).build()));
+        add(admin * 15, random -> get("GET /api/logs", logsUri, "/api/logs"));
+    }
+
+    public LoadRequest next(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.size(); i++) {
+            if (value < cumulativeWeights.get(i)) {
+                return operations.get(i).apply(random);
+            }
+        }
+        throw new IllegalStateException("Mix de trafic gol");
+    }
+
+    /**
+     * O comandă dictată agentului telefonic: 1-5 produse, câte 1-3 bucăți.
+     */
+    public LoadRequest phoneOrder(Random random) {
+        int itemCount = 1 + random.nextInt(5);
+        List<OrderItemRequestDTO> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItemRequestDTO.builder()
+                    .productId(pick(restaurant.products(), random).getId())
+                    .quantity(1 + random.nextInt(3))
+                    .build());
+        }
+        CreateOrderRequest order = CreateOrderRequest.builder()
+                .customerName(RestaurantSeeder.FIRST_NAMES[random.nextInt(RestaurantSeeder.FIRST_NAMES.length)] + " "
+                        + RestaurantSeeder.LAST_NAMES[random.nextInt(RestaurantSeeder.LAST_NAMES.length)])
+                .customerAddress("Strada Memorandumului nr. " + (1 + random.nextInt(120)) + ", Cluj-Napoca")
+                .items(items)
+                .build();
+        return new LoadRequest("POST /api/orders", client.adminJson("POST", productUri.resolve("/api/orders"), order).build());
+    }
+
+    private LoadRequest changePrice(Random random) {
+        ProductDTO product = pick(restaurant.products(), random);
+        ProductDTO update = ProductDTO.builder()
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(BigDecimal.valueOf(1500 + random.nextInt(8500), 2))
+                .categoryId(product.getCategoryId())
+                .ingredientIds(product.getIngredientIds())
+                .build();
+        return new LoadRequest("PUT /api/products/{id}",
+                client.adminJson("PUT", productUri.resolve("/api/products/" + product.getId()), update).build());
+    }
+
+    private LoadRequest changeReservationStatus(Random random) {
+        Long id = pick(restaurant.reservationIds(), random);
+        ReservationStatus status = random.nextInt(4) == 0 ? ReservationStatus.CANCELLED : ReservationStatus.CONFIRMED;
+        return new LoadRequest("PUT /api/reservations/{id}/status",
+                client.adminJson("PUT", reservationUri.resolve("/api/reservations/" + id + "/status"),
+                        new UpdateReservationStatusDTO(status)).build());
+    }
+
+    // Browserele cer meniul comprimat; serviciul de produse îl are deja serializat și arhivat
+    private LoadRequest gzipGet(String endpoint, String path) {
+        return new LoadRequest(endpoint, client.get(productUri.resolve(path)).header("Accept-Encoding", "gzip").build());
+    }
+
+    private LoadRequest get(String endpoint, URI service, String path) {
+        return new LoadRequest(endpoint, client.get(service.resolve(path)).build());
+    }
+
+    private void add(int weight, Function<Random, LoadRequest> operation) {
+        if (weight <= 0) {
+            return;
+        }
+        totalWeight += weight;
+        operations.add(operation);
+        cumulativeWeights.add(totalWeight);
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
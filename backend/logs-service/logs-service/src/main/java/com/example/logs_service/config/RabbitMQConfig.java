@@ -1,9 +1,5 @@
 package com.example.logs_service.config;
 
-// NOU: Importuri necesare pentru convertorul JSON
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
-import org.springframework.amqp.support.converter.MessageConverter;
-
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
@@ -48,8 +44,4 @@ public class RabbitMQConfig {
     Binding orderBinding(Queue queue, DirectExchange exchange) {
         return BindingBuilder.bind(queue).to(exchange).with("log.order.event");
     }
-    @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
-    }
 }
\ No newline at end of file
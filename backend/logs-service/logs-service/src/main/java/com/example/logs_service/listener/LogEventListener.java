@@ -1,8 +1,8 @@
 package com.example.logs_service.listener;
 
-import com.example.logs_service.events.LogEvent;
 import com.example.logs_service.model.LogEntry;
 import com.example.logs_service.repository.LogEntryRepository;
+import com.example.commons.events.LogEvent;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 import java.time.ZoneId;
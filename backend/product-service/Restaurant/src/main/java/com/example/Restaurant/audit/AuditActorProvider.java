@@ -0,0 +1,25 @@
+package com.example.Restaurant.audit;
+
+import com.example.commons.security.JwtPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Numele utilizatorului care face cererea curentă, pentru mesajele de audit scrise din servicii.
+ * Este citit din principalul pus de JwtAuthenticationFilter, deci token-ul nu mai este parsat aici.
+ */
+@Component
+public class AuditActorProvider {
+
+    static final String UNKNOWN_ACTOR = "necunoscut";
+
+    public String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal
+                && principal.name() != null) {
+            return principal.name();
+        }
+        return UNKNOWN_ACTOR;
+    }
+}
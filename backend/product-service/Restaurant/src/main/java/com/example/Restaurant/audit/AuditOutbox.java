@@ -0,0 +1,41 @@
+package com.example.Restaurant.audit;
+
+import com.example.Restaurant.model.AuditOutboxEvent;
+import com.example.Restaurant.repository.AuditOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Scrie log-urile de audit pentru comenzi și produse în tabela audit_outbox, în tranzacția
+ * modificării: un rollback anulează și log-ul, iar un commit îl păstrează chiar dacă broker-ul e căzut.
+ * Trimiterea propriu-zisă o face {@link AuditOutboxRelay}.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditOutbox {
+
+    public static final String ROUTING_KEY_PRODUCT = "log.product.event";
+    public static final String ROUTING_KEY_ORDER = "log.order.event";
+
+    private final AuditOutboxRepository auditOutboxRepository;
+    private final AuditActorProvider auditActorProvider;
+
+    public String currentActor() {
+        return auditActorProvider.currentActor();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String routingKey, String logType, String operationType, String message) {
+        auditOutboxRepository.save(AuditOutboxEvent.builder()
+                .routingKey(routingKey)
+                .logType(logType)
+                .operationType(operationType)
+                .message(message)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
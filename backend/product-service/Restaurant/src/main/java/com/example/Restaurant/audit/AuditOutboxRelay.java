@@ -0,0 +1,104 @@
+package com.example.Restaurant.audit;
+
+import com.example.Restaurant.model.AuditOutboxEvent;
+import com.example.Restaurant.repository.AuditOutboxRepository;
+import com.example.commons.audit.AuditLogPublisher;
+import com.example.commons.concurrent.ThreadFactories;
+import com.example.commons.events.LogEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Golește audit_outbox în loturi mari, în ordinea id-urilor: publică lotul pe un singur canal,
+ * așteaptă confirmarea broker-ului și abia apoi șterge rândurile.
+ * O cădere între confirmare și ștergere duce la retrimiterea lotului, deci livrarea e „cel puțin o dată”.
+ */
+@Component
+public class AuditOutboxRelay {
+
+    private final AuditOutboxRepository auditOutboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final ExecutorService confirmThread = Executors.newSingleThreadExecutor(ThreadFactories.platform("audit-outbox-relay-"));
+
+    public AuditOutboxRelay(AuditOutboxRepository auditOutboxRepository,
+                            RabbitTemplate rabbitTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${audit.outbox.batch-size:500}") int batchSize,
+                            @Value("${audit.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMillis) {
+        this.auditOutboxRepository = auditOutboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+    }
+
+    /**
+     * Cu profilul virtual-threads, @Scheduled rulează pe fire virtuale. waitForConfirmsOrDie așteaptă însă
+     * cu wait() într-un bloc synchronized din clientul RabbitMQ, ceea ce pe Java 21 ține ocupat firul purtător
+     * până la confirmare; de aceea lotul este trimis mereu de pe firul de platformă dedicat.
+     */
+    @Scheduled(fixedDelayString = "${audit.outbox.poll-interval-ms:1000}")
+    public void poll() throws InterruptedException {
+        try {
+            confirmThread.submit(this::relay).get();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            System.err.println("### Eroare la trimiterea log-urilor din outbox: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        confirmThread.shutdown();
+    }
+
+    public void relay() {
+        try {
+            // un lot plin înseamnă că mai sunt rânduri: continuăm până golim tabela
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == batchSize);
+        } catch (Exception e) {
+            // rândurile rămân în tabelă și sunt reîncercate la următoarea rulare
+            System.err.println("### Eroare la trimiterea log-urilor din outbox: " + e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        List<AuditOutboxEvent> batch = transactionTemplate.execute(status ->
+                auditOutboxRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize)));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        rabbitTemplate.invoke(operations -> {
+            for (AuditOutboxEvent event : batch) {
+                operations.convertAndSend(AuditLogPublisher.EXCHANGE_NAME, event.getRoutingKey(), new LogEvent(
+                        event.getMessage(), event.getLogType(), event.getOperationType(), Date.from(event.getCreatedAt())));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+
+        List<Long> ids = batch.stream().map(AuditOutboxEvent::getId).collect(Collectors.toList());
+        transactionTemplate.executeWithoutResult(status -> auditOutboxRepository.deleteAllByIdInBatch(ids));
+        return batch.size();
+    }
+}
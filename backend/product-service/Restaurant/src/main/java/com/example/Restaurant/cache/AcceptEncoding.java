@@ -0,0 +1,52 @@
+package com.example.Restaurant.cache;
+
+/**
+ * Interpretează antetul Accept-Encoding pentru răspunsurile de meniu deja comprimate.
+ * Un simplu {@code contains("gzip")} ar trimite gzip și clienților care l-au refuzat explicit ({@code gzip;q=0}).
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * gzip este acceptat dacă apare cu q &gt; 0 sau, când nu este numit deloc, dacă {@code *} are q &gt; 0.
+     * {@code x-gzip} nu este tratat ca gzip, fiindcă răspunsul trimite {@code Content-Encoding: gzip}.
+     */
+    public static boolean acceptsGzip(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double quality = quality(parts);
+            if (coding.equals("gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // valoare q invalidă: codarea este ignorată
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.Restaurant.cache;
+
+import com.example.Restaurant.dto.ProductDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Imagine imutabilă a meniului pentru o anumită versiune a catalogului.
+ * Este reconstruită doar după o scriere în produse, categorii sau ingrediente.
+ */
+@Getter
+public class MenuSnapshot {
+
+    private final long version;
+    private final String etag;
+    private final String productsEtag;
+    private final List<ProductDetailDTO> products;
+    private final List<ProductDTO> productSummaries;
+
+    // null când pre-serializarea este dezactivată (menu.snapshot.pre-serialized=false)
+    private final SerializedPayload productsPayload;
+    private final SerializedPayload productSummariesPayload;
+
+    public MenuSnapshot(long version, String tag,
+                        List<ProductDetailDTO> products, List<ProductDTO> productSummaries,
+                        SerializedPayload productsPayload, SerializedPayload productSummariesPayload) {
+        this.version = version;
+        this.etag = "\"menu-" + tag + "\"";
+        this.productsEtag = "\"products-" + tag + "\"";
+        this.products = List.copyOf(products);
+        this.productSummaries = List.copyOf(productSummaries);
+        this.productsPayload = productsPayload;
+        this.productSummariesPayload = productSummariesPayload;
+    }
+}
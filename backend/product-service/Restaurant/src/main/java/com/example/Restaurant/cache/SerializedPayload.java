@@ -0,0 +1,23 @@
+package com.example.Restaurant.cache;
+
+import lombok.Getter;
+
+/**
+ * Corpul JSON al unui endpoint de meniu, serializat o singură dată per versiune,
+ * împreună cu varianta deja comprimată gzip.
+ */
+@Getter
+public class SerializedPayload {
+
+    private final byte[] json;
+    private final byte[] gzipJson;
+    private final String etag;
+    private final String gzipEtag;
+
+    public SerializedPayload(byte[] json, byte[] gzipJson, String tag) {
+        this.json = json;
+        this.gzipJson = gzipJson;
+        this.etag = "\"" + tag + "\"";
+        this.gzipEtag = "\"" + tag + "-gz\"";
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.Restaurant.catalog;
+
+import com.example.Restaurant.dto.CategoryDTO;
+import com.example.Restaurant.dto.IngredientDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+
+/**
+ * Primește modificările din catalog după ce tranzacția care le-a produs a fost confirmată.
+ * Structurile ținute în memorie (snapshot-ul meniului, indexurile) se actualizează de aici.
+ */
+public interface CatalogChangeListener {
+
+    default void onProductSaved(ProductDetailDTO product) {
+    }
+
+    default void onProductDeleted(Long productId) {
+    }
+
+    default void onCategorySaved(CategoryDTO category) {
+    }
+
+    default void onCategoryDeleted(Long categoryId) {
+    }
+
+    default void onIngredientSaved(IngredientDTO ingredient) {
+    }
+
+    default void onIngredientDeleted(Long ingredientId) {
+    }
+}
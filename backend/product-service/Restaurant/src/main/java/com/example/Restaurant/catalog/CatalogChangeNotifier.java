@@ -0,0 +1,68 @@
+package com.example.Restaurant.catalog;
+
+import com.example.Restaurant.dto.CategoryDTO;
+import com.example.Restaurant.dto.IngredientDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+public class CatalogChangeNotifier {
+
+    private final List<CatalogChangeListener> listeners;
+
+    public CatalogChangeNotifier(List<CatalogChangeListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void productSaved(ProductDetailDTO product) {
+        dispatch(listener -> listener.onProductSaved(product));
+    }
+
+    public void productDeleted(Long productId) {
+        dispatch(listener -> listener.onProductDeleted(productId));
+    }
+
+    public void categorySaved(CategoryDTO category) {
+        dispatch(listener -> listener.onCategorySaved(category));
+    }
+
+    public void categoryDeleted(Long categoryId) {
+        dispatch(listener -> listener.onCategoryDeleted(categoryId));
+    }
+
+    public void ingredientSaved(IngredientDTO ingredient) {
+        dispatch(listener -> listener.onIngredientSaved(ingredient));
+    }
+
+    public void ingredientDeleted(Long ingredientId) {
+        dispatch(listener -> listener.onIngredientDeleted(ingredientId));
+    }
+
+    private void dispatch(Consumer<CatalogChangeListener> event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyListeners(event);
+                }
+            });
+        } else {
+            notifyListeners(event);
+        }
+    }
+
+    private void notifyListeners(Consumer<CatalogChangeListener> event) {
+        for (CatalogChangeListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (Exception e) {
+                System.err.println("### Eroare la actualizarea catalogului din memorie (" + listener.getClass().getSimpleName() + "): " + e.getMessage());
+            }
+        }
+    }
+}
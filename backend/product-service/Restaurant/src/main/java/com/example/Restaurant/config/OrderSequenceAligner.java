@@ -0,0 +1,56 @@
+package com.example.Restaurant.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Comenzile foloseau AUTO_INCREMENT. Pe MySQL, Hibernate emulează secvențele cu tabelele
+ * orders_seq / order_items_seq, care pornesc de la 1. La pornire le mutăm după cel mai mare
+ * id existent, ca blocurile alocate să nu se suprapună cu rândurile vechi.
+ */
+@Component
+public class OrderSequenceAligner {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    // EntityManagerFactory garantează că schema (inclusiv tabelele *_seq) e deja creată
+    public OrderSequenceAligner(JdbcTemplate jdbcTemplate, DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void align() {
+        if (!isMySql()) {
+            return;
+        }
+        align("orders_seq", "orders");
+        align("order_items_seq", "order_items");
+    }
+
+    private void align(String sequenceTable, String table) {
+        try {
+            jdbcTemplate.update("UPDATE " + sequenceTable + " SET next_val = GREATEST(next_val, " +
+                    "(SELECT COALESCE(MAX(id), 0) + 1 + " + ALLOCATION_SIZE + " FROM " + table + "))");
+        } catch (Exception e) {
+            System.err.println("### Eroare la alinierea secventei " + sequenceTable + ": " + e.getMessage());
+        }
+    }
+
+    private boolean isMySql() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Restaurant.config;
+
+import com.example.Restaurant.service.OrderStreamTokenService;
+import com.example.commons.security.JwtPrincipal;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Autentifică GET /api/orders/stream cu token-ul din {@code ?access_token=}, emis de POST /api/orders/stream/token.
+ * Pe celelalte căi token-ul din URL este ignorat; un token invalid lasă cererea neautentificată.
+ */
+public class OrderStreamTokenFilter extends OncePerRequestFilter {
+
+    static final String STREAM_PATH = "/api/orders/stream";
+    static final String TOKEN_PARAMETER = "access_token";
+
+    private final OrderStreamTokenService orderStreamTokenService;
+
+    public OrderStreamTokenFilter(OrderStreamTokenService orderStreamTokenService) {
+        this.orderStreamTokenService = orderStreamTokenService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || !STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String token = request.getParameter(TOKEN_PARAMETER);
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                JwtPrincipal principal = orderStreamTokenService.verify(token);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal,
+                        null,
+                        principal.roles().stream().map(SimpleGrantedAuthority::new).toList()
+                );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            } catch (JwtException | IllegalArgumentException e) {
+                System.err.println("### Token respins pentru fluxul de comenzi: " + e.getMessage());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
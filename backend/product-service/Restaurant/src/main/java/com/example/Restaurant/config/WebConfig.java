@@ -1,15 +1,35 @@
 package com.example.Restaurant.config;
 
+import com.example.commons.storage.ContentAddressedStore;
+import com.example.commons.web.StaticFileHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import java.nio.file.Paths;
 
 @Configuration
-public class WebConfig implements WebMvcConfigurer {
+public class WebConfig {
+
+    @Value("${product.images.upload-dir:/tmp/uploads/product-images/}")
+    private String uploadDir;
+
+    @Value("${uploads.max-bytes:10485760}")
+    private long maxUploadBytes;
+
+    @Value("${uploads.max-concurrent:4}")
+    private int maxConcurrentUploads;
+
+    // Imaginile au nume derivate din conținut și nu se schimbă: cache imutabil, Range și trimitere fără copiere prin heap
+    @Bean
+    public SimpleUrlHandlerMapping productImagesHandlerMapping() {
+        return StaticFileHandler.handlerMapping("/uploads/product-images/**", uploadDir);
+    }
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/uploads/product-images/**")
-                .addResourceLocations("file:/tmp/uploads/product-images/");
+    // O singură copie pentru fiecare imagine identică, cu contor de referințe; upload-urile sunt limitate ca mărime și număr
+    @Bean
+    public ContentAddressedStore productImageStore() {
+        return new ContentAddressedStore(Paths.get(uploadDir), maxUploadBytes, maxConcurrentUploads);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package com.example.Restaurant.controller;
+
+import com.example.Restaurant.dto.AuditPublisherStatsDTO;
+import com.example.commons.audit.AuditLogPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final AuditLogPublisher auditLogPublisher;
+
+    // Cozile de audit: câte evenimente așteaptă, câte au fost trimise și câte au fost aruncate
+    @GetMapping("/publisher")
+    public AuditPublisherStatsDTO getPublisherStats() {
+        return AuditPublisherStatsDTO.builder()
+                .queueDepth(auditLogPublisher.getQueueDepth())
+                .capacity(auditLogPublisher.getCapacity())
+                .published(auditLogPublisher.getPublishedCount())
+                .dropped(auditLogPublisher.getDroppedCount())
+                .failedBatches(auditLogPublisher.getFailedBatchCount())
+                .build();
+    }
+}
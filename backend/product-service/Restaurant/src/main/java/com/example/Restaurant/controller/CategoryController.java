@@ -1,12 +1,13 @@
 package com.example.Restaurant.controller;
 
 import com.example.Restaurant.dto.CategoryDTO;
-import com.example.Restaurant.events.LogEvent; // NOU: Importăm LogEvent
 import com.example.Restaurant.service.CategoryService;
-import com.example.Restaurant.service.JwtService;
+import com.example.commons.audit.AuditLogPublisher;
+import com.example.commons.events.LogEvent; // NOU: Importăm LogEvent
+import com.example.commons.security.JwtPrincipal;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,12 +17,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CategoryController {
 
-    private static final String EXCHANGE_NAME = "logs_exchange";
     private static final String ROUTING_KEY_CATEGORY = "log.category.event";
 
     private final CategoryService categoryService;
-    private final RabbitTemplate rabbitTemplate;
-    private final JwtService jwtService;
+    private final AuditLogPublisher auditLogPublisher;
 
     @GetMapping
     public List<CategoryDTO> getAll() {
@@ -35,12 +34,11 @@ public class CategoryController {
 
     @PostMapping
     public ResponseEntity<CategoryDTO> create(@RequestBody CategoryDTO dto,
-                                              @RequestHeader("Authorization") String authHeader) {
+                                              @AuthenticationPrincipal JwtPrincipal principal) {
         CategoryDTO createdCategory = categoryService.create(dto);
 
         try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a creat o categorie nouă: '%s' (ID: %d).",
                     userName,
@@ -48,7 +46,7 @@ public class CategoryController {
                     createdCategory.getId());
 
             LogEvent event = new LogEvent(logMessage, "CATEGORY", "CREATE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_CATEGORY, event);
+            auditLogPublisher.publish(ROUTING_KEY_CATEGORY, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de categorie (create): " + e.getMessage());
@@ -60,12 +58,11 @@ public class CategoryController {
     @PutMapping("/{id}")
     public ResponseEntity<CategoryDTO> update(@PathVariable Long id,
                                               @RequestBody CategoryDTO dto,
-                                              @RequestHeader("Authorization") String authHeader) {
+                                              @AuthenticationPrincipal JwtPrincipal principal) {
         CategoryDTO updatedCategory = categoryService.update(id, dto);
 
         try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a actualizat Categoria '%s' (ID: %d).",
                     userName,
@@ -73,7 +70,7 @@ public class CategoryController {
                     updatedCategory.getId());
 
             LogEvent event = new LogEvent(logMessage, "CATEGORY", "UPDATE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_CATEGORY, event);
+            auditLogPublisher.publish(ROUTING_KEY_CATEGORY, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de categorie (update): " + e.getMessage());
@@ -84,12 +81,11 @@ public class CategoryController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id,
-                                       @RequestHeader("Authorization") String authHeader) {
+                                       @AuthenticationPrincipal JwtPrincipal principal) {
         try {
             CategoryDTO categoryToDelete = categoryService.findById(id);
 
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a șters Categoria '%s' (ID: %d).",
                     userName,
@@ -97,7 +93,7 @@ public class CategoryController {
                     id);
 
             LogEvent event = new LogEvent(logMessage, "CATEGORY", "DELETE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_CATEGORY, event);
+            auditLogPublisher.publish(ROUTING_KEY_CATEGORY, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de categorie (delete): " + e.getMessage());
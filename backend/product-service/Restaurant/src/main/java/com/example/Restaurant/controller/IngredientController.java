@@ -1,12 +1,13 @@
 package com.example.Restaurant.controller;
 
 import com.example.Restaurant.dto.IngredientDTO;
-import com.example.Restaurant.events.LogEvent; // NOU: Importăm LogEvent
 import com.example.Restaurant.service.IngredientService;
-import com.example.Restaurant.service.JwtService;
+import com.example.commons.audit.AuditLogPublisher;
+import com.example.commons.events.LogEvent; // NOU: Importăm LogEvent
+import com.example.commons.security.JwtPrincipal;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,12 +17,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class IngredientController {
 
-    private static final String EXCHANGE_NAME = "logs_exchange";
     private static final String ROUTING_KEY_INGREDIENT = "log.ingredient.event";
 
     private final IngredientService ingredientService;
-    private final RabbitTemplate rabbitTemplate;
-    private final JwtService jwtService;
+    private final AuditLogPublisher auditLogPublisher;
 
     @GetMapping
     public List<IngredientDTO> getAll() {
@@ -35,12 +34,11 @@ public class IngredientController {
 
     @PostMapping
     public ResponseEntity<IngredientDTO> create(@RequestBody IngredientDTO dto,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                @AuthenticationPrincipal JwtPrincipal principal) {
         IngredientDTO createdIngredient = ingredientService.create(dto);
 
         try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a creat un ingredient nou: '%s' (ID: %d).",
                     userName,
@@ -48,7 +46,7 @@ public class IngredientController {
                     createdIngredient.getId());
 
             LogEvent event = new LogEvent(logMessage, "INGREDIENT", "CREATE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_INGREDIENT, event);
+            auditLogPublisher.publish(ROUTING_KEY_INGREDIENT, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de ingredient (create): " + e.getMessage());
@@ -60,12 +58,11 @@ public class IngredientController {
     @PutMapping("/{id}")
     public ResponseEntity<IngredientDTO> update(@PathVariable Long id,
                                                 @RequestBody IngredientDTO dto,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                @AuthenticationPrincipal JwtPrincipal principal) {
         IngredientDTO updatedIngredient = ingredientService.update(id, dto);
 
         try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a actualizat Ingredientul '%s' (ID: %d).",
                     userName,
@@ -73,7 +70,7 @@ public class IngredientController {
                     updatedIngredient.getId());
 
             LogEvent event = new LogEvent(logMessage, "INGREDIENT", "UPDATE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_INGREDIENT, event);
+            auditLogPublisher.publish(ROUTING_KEY_INGREDIENT, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de ingredient (update): " + e.getMessage());
@@ -84,19 +81,18 @@ public class IngredientController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id,
-                                       @RequestHeader("Authorization") String authHeader) {
+                                       @AuthenticationPrincipal JwtPrincipal principal) {
         try {
             IngredientDTO ingredientToDelete = ingredientService.findById(id);
 
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a șters Ingredientul '%s' (ID: %d).",
                     userName,
                     ingredientToDelete.getName(),
                     id);
             LogEvent event = new LogEvent(logMessage, "INGREDIENT", "DELETE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_INGREDIENT, event);
+            auditLogPublisher.publish(ROUTING_KEY_INGREDIENT, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de ingredient (delete): " + e.getMessage());
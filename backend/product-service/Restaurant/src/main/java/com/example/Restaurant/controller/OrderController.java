@@ -1,56 +1,62 @@
 package com.example.Restaurant.controller;
 
+import com.example.Restaurant.dto.BatchOrderResultDTO;
 import com.example.Restaurant.dto.CreateOrderRequest;
 import com.example.Restaurant.dto.OrderDTO;
-import com.example.Restaurant.events.LogEvent;
-import com.example.Restaurant.service.JwtService;
+import com.example.Restaurant.dto.OrderHistoryPageDTO;
+import com.example.Restaurant.dto.OrderHistoryRequest;
+import com.example.Restaurant.dto.OrderStreamTokenDTO;
+import com.example.Restaurant.dto.SalesStatsDTO;
+import com.example.Restaurant.service.OrderExportService;
 import com.example.Restaurant.service.OrderService;
+import com.example.Restaurant.service.OrderStreamService;
+import com.example.Restaurant.service.OrderStreamTokenService;
+import com.example.Restaurant.service.SalesStatsService;
+import com.example.commons.security.JwtPrincipal;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
 
-    private static final String EXCHANGE_NAME = "logs_exchange";
-    private static final String ROUTING_KEY_ORDER = "log.order.event";
-
     private final OrderService orderService;
-    private final RabbitTemplate rabbitTemplate;
-    private final JwtService jwtService;
-
-    public OrderController(OrderService orderService, RabbitTemplate rabbitTemplate, JwtService jwtService) {
+    private final OrderExportService orderExportService;
+    private final SalesStatsService salesStatsService;
+    private final OrderStreamService orderStreamService;
+    private final OrderStreamTokenService orderStreamTokenService;
+    private final int batchMaxSize;
+
+    public OrderController(OrderService orderService, OrderExportService orderExportService,
+                           SalesStatsService salesStatsService, OrderStreamService orderStreamService,
+                           OrderStreamTokenService orderStreamTokenService,
+                           @Value("${orders.batch.max-size:1000}") int batchMaxSize) {
         this.orderService = orderService;
-        this.rabbitTemplate = rabbitTemplate;
-        this.jwtService = jwtService;
+        this.orderExportService = orderExportService;
+        this.salesStatsService = salesStatsService;
+        this.orderStreamService = orderStreamService;
+        this.orderStreamTokenService = orderStreamTokenService;
+        this.batchMaxSize = batchMaxSize;
     }
 
+    // Log-urile de audit pentru comenzi sunt scrise de serviciu în outbox, în aceeași tranzacție
     @PostMapping
-    public ResponseEntity<OrderDTO> createOrder(@RequestBody CreateOrderRequest createOrderRequest,
-                                                @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<OrderDTO> createOrder(@RequestBody CreateOrderRequest createOrderRequest) {
         try {
             OrderDTO createdOrder = orderService.createOrder(createOrderRequest);
-
-            try {
-                final String token = authHeader.substring(7);
-                final String userName = jwtService.extractName(token);
-                String logMessage = String.format(
-                        "Utilizatorul '%s' a creat o comandă nouă cu ID-ul: %d.",
-                        userName,
-                        createdOrder.getId());
-
-                LogEvent event = new LogEvent(logMessage, "ORDER", "CREATE");
-                rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_ORDER, event);
-
-            } catch (Exception logEx) {
-                System.err.println("### Eroare la trimiterea log-ului de comandă (create): " + logEx.getMessage());
-            }
-
             return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
         } catch (EntityNotFoundException e) {
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -61,31 +67,25 @@ public class OrderController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchOrderResultDTO>> createOrders(@RequestBody List<CreateOrderRequest> createOrderRequests) {
+        if (createOrderRequests == null || createOrderRequests.isEmpty()) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        // loturile mai mari sunt respinse înainte de a încărca produsele și a calcula prețurile
+        if (createOrderRequests.size() > batchMaxSize) {
+            return new ResponseEntity<>(null, HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        List<BatchOrderResultDTO> results = orderService.createOrders(createOrderRequests);
+        return ResponseEntity.ok(results);
+    }
+
 
     @PutMapping("/{id}")
     public ResponseEntity<OrderDTO> updateOrder(@PathVariable Long id,
-                                                @RequestBody OrderDTO orderDTO,
-                                                @RequestHeader("Authorization") String authHeader) {
+                                                @RequestBody OrderDTO orderDTO) {
         try {
             OrderDTO updatedOrder = orderService.updateOrder(id, orderDTO);
-
-            try {
-                final String token = authHeader.substring(7);
-                final String userName = jwtService.extractName(token);
-
-                String logMessage = String.format(
-                        "Utilizatorul '%s' a actualizat comanda cu ID-ul %d. Noul total este: %.2f.",
-                        userName,
-                        updatedOrder.getId(),
-                        updatedOrder.getTotalAmount());
-
-                LogEvent event = new LogEvent(logMessage, "ORDER", "UPDATE");
-                rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_ORDER, event);
-
-            } catch (Exception logEx) {
-                System.err.println("### Eroare la trimiterea log-ului de comandă (update): " + logEx.getMessage());
-            }
-
             return ResponseEntity.ok(updatedOrder);
         } catch (EntityNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
@@ -95,24 +95,8 @@ public class OrderController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteOrder(@PathVariable Long id,
-                                            @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
         try {
-            try {
-                final String token = authHeader.substring(7);
-                final String userName = jwtService.extractName(token);
-                String logMessage = String.format(
-                        "Utilizatorul '%s' a șters comanda cu ID-ul: %d.",
-                        userName,
-                        id);
-
-                LogEvent event = new LogEvent(logMessage, "ORDER", "DELETE");
-                rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_ORDER, event);
-
-            } catch (Exception logEx) {
-                System.err.println("### Eroare la trimiterea log-ului de comandă (delete): " + logEx.getMessage());
-            }
-
             orderService.deleteOrder(id);
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } catch (EntityNotFoundException e) {
@@ -120,6 +104,51 @@ public class OrderController {
         }
     }
 
+    @GetMapping("/history")
+    public OrderHistoryPageDTO getOrderHistory(@ModelAttribute OrderHistoryRequest filter) {
+        return orderService.getOrderHistory(filter);
+    }
+
+    // Ecranele din bucătărie primesc comenzile pe măsură ce sunt confirmate, fără polling.
+    // Autentificarea vine din ?access_token= (vezi /stream/token); lastEventId în URL servește la reconectările manuale
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                   @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        return orderStreamService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+    }
+
+    @PostMapping("/stream/token")
+    public OrderStreamTokenDTO streamToken(@AuthenticationPrincipal JwtPrincipal principal) {
+        return OrderStreamTokenDTO.builder()
+                .token(orderStreamTokenService.issue(principal))
+                .expiresInSeconds(orderStreamTokenService.getTtlSeconds())
+                .build();
+    }
+
+    @GetMapping("/stats")
+    public SalesStatsDTO getStats(@RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                  @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesStatsService.getStats(from, to);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        OrderExportService.Format exportFormat;
+        try {
+            exportFormat = OrderExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        boolean csv = exportFormat == OrderExportService.Format.CSV;
+        StreamingResponseBody body = outputStream -> orderExportService.exportOrders(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long id) {
         try {
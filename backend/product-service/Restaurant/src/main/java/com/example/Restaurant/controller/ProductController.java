@@ -1,17 +1,24 @@
 package com.example.Restaurant.controller;
 
+import com.example.Restaurant.cache.AcceptEncoding;
+import com.example.Restaurant.cache.MenuSnapshot;
+import com.example.Restaurant.cache.SerializedPayload;
 import com.example.Restaurant.dto.ProductDTO;
 import com.example.Restaurant.dto.ProductDetailDTO;
-import com.example.Restaurant.events.LogEvent;
-import com.example.Restaurant.service.JwtService;
+import com.example.Restaurant.dto.ProductFilterRequest;
+import com.example.Restaurant.dto.ProductPageDTO;
+import com.example.Restaurant.service.MenuSnapshotService;
 import com.example.Restaurant.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -19,16 +26,37 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductController {
 
-    private static final String EXCHANGE_NAME = "logs_exchange";
-    private static final String ROUTING_KEY_PRODUCT = "log.product.event";
-
     private final ProductService productService;
-    private final RabbitTemplate rabbitTemplate;
-    private final JwtService jwtService;
+    private final MenuSnapshotService menuSnapshotService;
 
     @GetMapping
-    public List<ProductDTO> getAll() {
-        return productService.findAll();
+    public ResponseEntity<?> getAll(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MenuSnapshot snapshot = menuSnapshotService.getSnapshot();
+        if (snapshot.getProductSummariesPayload() != null) {
+            return serialized(snapshot.getProductSummariesPayload(), acceptEncoding);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.getProductsEtag())
+                .body(snapshot.getProductSummaries());
+    }
+
+    @GetMapping("/filter")
+    public ProductPageDTO filter(@ModelAttribute ProductFilterRequest filter) {
+        return productService.findPage(filter);
+    }
+
+    // ex: /api/products/without-ingredients?exclude=3,7&categoryId=2 ("fără nuci, fără lactate")
+    @GetMapping("/without-ingredients")
+    public List<ProductDTO> findWithoutIngredients(@RequestParam(value = "categoryId", required = false) Long categoryId,
+                                                   @RequestParam(value = "exclude", required = false) List<Long> exclude) {
+        return productService.findWithoutIngredients(categoryId, exclude != null ? exclude : List.of());
+    }
+
+    @GetMapping("/search")
+    public List<ProductDetailDTO> search(@RequestParam("q") String query,
+                                         @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return productService.search(query, limit);
     }
 
     @GetMapping("/{id}")
@@ -37,73 +65,47 @@ public class ProductController {
     }
 
     @GetMapping("/details")
-    public List<ProductDetailDTO> getAllWithDetails() {
-        return productService.findAllWithDetails();
+    public ResponseEntity<?> getAllWithDetails(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Spring răspunde automat cu 304 când If-None-Match se potrivește cu ETag-ul trimis.
+        MenuSnapshot snapshot = menuSnapshotService.getSnapshot();
+        if (snapshot.getProductsPayload() != null) {
+            return serialized(snapshot.getProductsPayload(), acceptEncoding);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.getEtag())
+                .body(snapshot.getProducts());
     }
 
-    @PostMapping
-    public ResponseEntity<ProductDTO> create(@RequestBody ProductDTO dto,
-                                             @RequestHeader("Authorization") String authHeader) {
-        ProductDTO createdProduct = productService.create(dto);
-
-        try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
-            String logMessage = String.format(
-                    "Utilizatorul '%s' a creat un produs nou: '%s' (ID: %d).",
-                    userName, createdProduct.getName(), createdProduct.getId());
-
-            LogEvent event = new LogEvent(logMessage, "PRODUCT", "CREATE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_PRODUCT, event);
-
-        } catch (Exception e) {
-            System.err.println("### Eroare la trimiterea log-ului de produs (create): " + e.getMessage());
+    private ResponseEntity<byte[]> serialized(SerializedPayload payload, String acceptEncoding) {
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.eTag(payload.getGzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(payload.getGzipJson());
         }
+        return response.eTag(payload.getEtag()).body(payload.getJson());
+    }
 
+    // Log-urile de audit pentru produse sunt scrise de serviciu în outbox, în aceeași tranzacție
+    @PostMapping
+    public ResponseEntity<ProductDTO> create(@RequestBody ProductDTO dto) {
+        ProductDTO createdProduct = productService.create(dto);
         return ResponseEntity.status(201).body(createdProduct);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ProductDTO> update(@PathVariable Long id,
-                                             @RequestBody ProductDTO dto,
-                                             @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto) {
         ProductDTO updatedProduct = productService.update(id, dto);
-
-        try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
-            String logMessage = String.format(
-                    "Utilizatorul '%s' a actualizat Produsul '%s' (ID: %d).",
-                    userName, updatedProduct.getName(), updatedProduct.getId());
-
-            LogEvent event = new LogEvent(logMessage, "PRODUCT", "UPDATE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_PRODUCT, event);
-
-        } catch (Exception e) {
-            System.err.println("### Eroare la trimiterea log-ului de produs (update): " + e.getMessage());
-        }
-
         return ResponseEntity.ok(updatedProduct);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id,
-                                       @RequestHeader("Authorization") String authHeader) {
-        try {
-            ProductDTO productToDelete = productService.findById(id); // Obține produsul înainte de ștergere pentru a loga numele
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
-            String logMessage = String.format(
-                    "Utilizatorul '%s' a șters Produsul '%s' (ID: %d).",
-                    userName, productToDelete.getName(), id);
-
-            LogEvent event = new LogEvent(logMessage, "PRODUCT", "DELETE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_PRODUCT, event);
-
-        } catch (Exception e) {
-            System.err.println("### Eroare la trimiterea log-ului de produs (delete): " + e.getMessage());
-        }
-
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
         productService.delete(id);
         return ResponseEntity.noContent().build();
     }
@@ -115,48 +117,23 @@ public class ProductController {
 
     @PostMapping(value = "/{productId}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ProductDTO> uploadProductImage(@PathVariable Long productId,
-                                                         @RequestPart("imageFile") MultipartFile imageFile,
-                                                         @RequestHeader("Authorization") String authHeader) {
+                                                         @RequestPart("imageFile") MultipartFile imageFile) {
         ProductDTO updatedProduct = productService.uploadProductImage(productId, imageFile);
+        return ResponseEntity.ok(updatedProduct);
+    }
 
-        try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
-            String logMessage = String.format(
-                    "Utilizatorul '%s' a încărcat o imagine pentru Produsul '%s' (ID: %d). Nume fișier: %s",
-                    userName, updatedProduct.getName(), updatedProduct.getId(), imageFile.getOriginalFilename());
-
-            LogEvent event = new LogEvent(logMessage, "PRODUCT", "UPLOAD_IMAGE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_PRODUCT, event);
-
-        } catch (Exception e) {
-            System.err.println("### Eroare la trimiterea log-ului pentru upload imagine produs: " + e.getMessage());
-        }
-
+    // Imaginea ca și corp al cererii (Content-Type image/*): citită în flux, fără spool multipart
+    @PostMapping(value = "/{productId}/image", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            MediaType.IMAGE_GIF_VALUE, "image/webp"})
+    public ResponseEntity<ProductDTO> uploadProductImageStream(@PathVariable Long productId,
+                                                               HttpServletRequest request) throws IOException {
+        ProductDTO updatedProduct = productService.uploadProductImage(productId, request.getInputStream(), request.getContentLengthLong());
         return ResponseEntity.ok(updatedProduct);
     }
 
     @DeleteMapping("/{productId}/image")
-    public ResponseEntity<Void> deleteProductImage(@PathVariable Long productId,
-                                                   @RequestHeader("Authorization") String authHeader) {
-        ProductDTO productToDeleteImageFor = productService.findById(productId);
-
+    public ResponseEntity<Void> deleteProductImage(@PathVariable Long productId) {
         productService.deleteProductImage(productId);
-
-        try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
-            String logMessage = String.format(
-                    "Utilizatorul '%s' a șters imaginea pentru Produsul '%s' (ID: %d).",
-                    userName, productToDeleteImageFor.getName(), productId);
-
-            LogEvent event = new LogEvent(logMessage, "PRODUCT", "DELETE_IMAGE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_PRODUCT, event);
-
-        } catch (Exception e) {
-            System.err.println("### Eroare la trimiterea log-ului pentru ștergere imagine produs: " + e.getMessage());
-        }
-
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditPublisherStatsDTO {
+    private int queueDepth;
+    private int capacity;
+    private long published;
+    private long dropped;
+    private long failedBatches;
+}
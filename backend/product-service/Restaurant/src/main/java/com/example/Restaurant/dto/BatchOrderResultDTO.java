@@ -0,0 +1,27 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderResultDTO {
+    // poziția comenzii în lista trimisă
+    private int index;
+    private Status status;
+    private Long orderId;
+    private BigDecimal totalAmount;
+    private String error;
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+}
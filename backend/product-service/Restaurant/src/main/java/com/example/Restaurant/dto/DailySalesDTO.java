@@ -0,0 +1,20 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySalesDTO {
+    private LocalDate day;
+    private BigDecimal revenue;
+    private long quantity;
+    private long orderCount;
+}
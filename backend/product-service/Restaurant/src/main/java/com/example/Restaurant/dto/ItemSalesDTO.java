@@ -0,0 +1,21 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Vânzările unui produs sau ale unei categorii pe intervalul cerut
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemSalesDTO {
+    private Long id;
+    private String name;
+    private BigDecimal revenue;
+    private long quantity;
+    private long orderCount;
+}
@@ -0,0 +1,20 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderHistoryPageDTO {
+    private List<OrderDTO> items;
+    private boolean hasMore;
+    private LocalDateTime nextAfterOrderDate;
+    private Long nextAfterId;
+}
@@ -0,0 +1,16 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStreamTokenDTO {
+    // se pune în URL-ul fluxului: /api/orders/stream?access_token=...
+    private String token;
+    private long expiresInSeconds;
+}
@@ -17,4 +17,7 @@ public class ProductDTO {
     private Long categoryId;
     private Set<Long> ingredientIds;
     private String imageUrl;
+    private String imageThumbUrl;
+    private String imageCardUrl;
+    private String imageFullUrl;
 }
\ No newline at end of file
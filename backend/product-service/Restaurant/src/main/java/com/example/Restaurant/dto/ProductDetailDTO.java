@@ -18,6 +18,9 @@ public class ProductDetailDTO {
     private String description;
     private BigDecimal price;
     private String imageUrl;
+    private String imageThumbUrl;
+    private String imageCardUrl;
+    private String imageFullUrl;
     private CategoryDTO category;
     private Set<IngredientDTO> ingredients;
 }
\ No newline at end of file
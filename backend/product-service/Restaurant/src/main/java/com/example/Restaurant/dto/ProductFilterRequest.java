@@ -0,0 +1,25 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFilterRequest {
+    private Long categoryId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private List<Long> includeIngredients;
+    private List<Long> excludeIngredients;
+    // cursorul (categoryId, id) al ultimului produs din pagina anterioară
+    private Long afterCategoryId;
+    private Long afterId;
+    private Integer size;
+}
@@ -0,0 +1,19 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPageDTO {
+    private List<ProductDTO> items;
+    private boolean hasMore;
+    private Long nextAfterCategoryId;
+    private Long nextAfterId;
+}
@@ -0,0 +1,25 @@
+package com.example.Restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesStatsDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal totalRevenue;
+    private long totalQuantity;
+    private long totalOrders;
+    private List<DailySalesDTO> days;
+    private List<ItemSalesDTO> products;
+    private List<ItemSalesDTO> categories;
+}
@@ -0,0 +1,22 @@
+package com.example.Restaurant.events;
+
+import com.example.Restaurant.dto.OrderDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Un eveniment din fluxul de comenzi; id-ul este folosit de client ca Last-Event-ID la reconectare
+@Getter
+@AllArgsConstructor
+public class OrderStreamEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final String id;
+    private final long sequence;
+    private final Type type;
+    private final OrderDTO order;
+}
@@ -5,9 +5,13 @@ import com.example.Restaurant.dto.OrderItemRequestDTO;
 import com.example.Restaurant.model.OrderItem;
 import com.example.Restaurant.model.Product;
 import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.repository.projection.OrderItemRow;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
@@ -32,6 +36,25 @@ public class OrderItemMapper {
                 .build();
     }
 
+    public OrderItemDTO toDto(OrderItemRow row) {
+        return OrderItemDTO.builder()
+                .id(row.getId())
+                .productId(row.getProductId())
+                .productName(row.getProductName())
+                .quantity(row.getQuantity())
+                .priceAtOrder(row.getPriceAtOrder())
+                .build();
+    }
+
+    // Grupează produsele comandate după comanda din care fac parte
+    public Map<Long, List<OrderItemDTO>> groupByOrderId(List<OrderItemRow> rows) {
+        Map<Long, List<OrderItemDTO>> itemsByOrder = new HashMap<>();
+        for (OrderItemRow row : rows) {
+            itemsByOrder.computeIfAbsent(row.getOrderId(), id -> new ArrayList<>()).add(toDto(row));
+        }
+        return itemsByOrder;
+    }
+
     public List<OrderItemDTO> toDtoList(List<OrderItem> orderItems) {
         if (orderItems == null) {
             return null;
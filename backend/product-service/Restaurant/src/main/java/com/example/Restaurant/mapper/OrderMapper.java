@@ -2,7 +2,9 @@ package com.example.Restaurant.mapper;
 
 import com.example.Restaurant.dto.CreateOrderRequest;
 import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.dto.OrderItemDTO;
 import com.example.Restaurant.model.Order;
+import com.example.Restaurant.repository.projection.OrderRow;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -33,6 +35,17 @@ public class OrderMapper {
                 .build();
     }
 
+    public OrderDTO toDto(OrderRow row, List<OrderItemDTO> items) {
+        return OrderDTO.builder()
+                .id(row.getId())
+                .orderDate(row.getOrderDate())
+                .totalAmount(row.getTotalAmount())
+                .customerName(row.getCustomerName())
+                .customerAddress(row.getCustomerAddress())
+                .orderItems(items)
+                .build();
+    }
+
     public List<OrderDTO> toDtoList(List<Order> orders) {
         if (orders == null) {
             return null;
@@ -5,7 +5,13 @@ import com.example.Restaurant.dto.ProductDetailDTO;
 import com.example.Restaurant.model.Category;
 import com.example.Restaurant.model.Ingredient;
 import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.projection.ProductRow;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,6 +32,9 @@ public class ProductMapper {
                                 .collect(Collectors.toSet())
                         : null)
                 .imageUrl(product.getImageUrl())
+                .imageThumbUrl(product.getImageThumbUrl())
+                .imageCardUrl(product.getImageCardUrl())
+                .imageFullUrl(product.getImageFullUrl())
                 .build();
     }
 
@@ -39,7 +48,7 @@ public class ProductMapper {
                 .price(dto.getPrice())
                 .category(category)
                 .ingredients(ingredients)
-                .imageUrl(dto.getImageUrl())
+                // fără imageUrl: imaginea este atașată doar prin upload, care îi ține contorul de referințe
                 .build();
     }
 
@@ -52,6 +61,9 @@ public class ProductMapper {
                 .description(product.getDescription())
                 .price(product.getPrice())
                 .imageUrl(product.getImageUrl())
+                .imageThumbUrl(product.getImageThumbUrl())
+                .imageCardUrl(product.getImageCardUrl())
+                .imageFullUrl(product.getImageFullUrl())
                 .category(CategoryMapper.toDTO(product.getCategory()))
                 .ingredients(product.getIngredients() != null ?
                         product.getIngredients().stream()
@@ -60,4 +72,41 @@ public class ProductMapper {
                         : null)
                 .build();
     }
-}
\ No newline at end of file
+
+    public static ProductDTO toDTO(ProductRow row, Set<Long> ingredientIds) {
+        if (row == null) return null;
+
+        return ProductDTO.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .description(row.getDescription())
+                .price(row.getPrice())
+                .categoryId(row.getCategoryId())
+                .ingredientIds(ingredientIds)
+                .imageUrl(row.getImageUrl())
+                .imageThumbUrl(row.getImageThumbUrl())
+                .imageCardUrl(row.getImageCardUrl())
+                .imageFullUrl(row.getImageFullUrl())
+                .build();
+    }
+
+    /**
+     * Asamblează lista de produse din rezultatul a două interogări pe seturi:
+     * rândurile produselor și perechile [product_id, ingredient_id].
+     */
+    public static List<ProductDTO> toDTOList(List<ProductRow> rows, List<Object[]> ingredientLinks) {
+        Map<Long, Set<Long>> ingredientsByProduct = new HashMap<>(Math.max(rows.size() * 2, 16));
+        for (Object[] link : ingredientLinks) {
+            Long productId = ((Number) link[0]).longValue();
+            Long ingredientId = ((Number) link[1]).longValue();
+            ingredientsByProduct.computeIfAbsent(productId, id -> new HashSet<>()).add(ingredientId);
+        }
+
+        List<ProductDTO> result = new ArrayList<>(rows.size());
+        for (ProductRow row : rows) {
+            Set<Long> ingredientIds = ingredientsByProduct.getOrDefault(row.getId(), new HashSet<>());
+            result.add(toDTO(row, ingredientIds));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.Restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Un log de audit scris în aceeași tranzacție cu modificarea pe care o descrie;
+ * rândul este trimis către RabbitMQ și șters abia după confirmarea broker-ului.
+ */
+@Entity
+@Table(name = "audit_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_outbox_seq")
+    @SequenceGenerator(name = "audit_outbox_seq", sequenceName = "audit_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    @Column(nullable = false)
+    private String logType;
+
+    @Column(nullable = false)
+    private String operationType;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.util.Set;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_price", columnList = "category_id, price")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +31,16 @@ public class Product {
     @Column(name = "image_url")
     private String imageUrl;
 
+    // Variantele redimensionate ale imaginii, generate în fundal după upload; null până sunt gata
+    @Column(name = "image_thumb_url")
+    private String imageThumbUrl;
+
+    @Column(name = "image_card_url")
+    private String imageCardUrl;
+
+    @Column(name = "image_full_url")
+    private String imageFullUrl;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     @ToString.Exclude
@@ -39,7 +51,8 @@ public class Product {
     @JoinTable(
             name = "product_ingredients",
             joinColumns = @JoinColumn(name = "product_id"),
-            inverseJoinColumns = @JoinColumn(name = "ingredient_id")
+            inverseJoinColumns = @JoinColumn(name = "ingredient_id"),
+            indexes = @Index(name = "idx_product_ingredients_ingredient", columnList = "ingredient_id")
     )
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
@@ -0,0 +1,7 @@
+package com.example.Restaurant.model;
+
+public enum SalesDimension {
+    DAY,
+    PRODUCT,
+    CATEGORY
+}
@@ -0,0 +1,31 @@
+package com.example.Restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Vânzările agregate pe zi: totalul zilei, plus câte un rând pentru fiecare produs și categorie.
+ * Rândurile sunt incrementate de SalesStatsService, nu recalculate din comenzi.
+ */
+@Entity
+@Table(name = "sales_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+
+    @EmbeddedId
+    private SalesRollupId id;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(nullable = false)
+    private Long orderCount;
+}
@@ -0,0 +1,25 @@
+package com.example.Restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupId implements Serializable {
+
+    @Column(name = "sales_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SalesDimension dimension;
+
+    // id-ul produsului sau al categoriei; 0 pentru totalul zilei
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+}
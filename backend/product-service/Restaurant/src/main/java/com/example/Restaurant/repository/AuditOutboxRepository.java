@@ -0,0 +1,15 @@
+package com.example.Restaurant.repository;
+
+import com.example.Restaurant.model.AuditOutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditOutboxRepository extends JpaRepository<AuditOutboxEvent, Long> {
+
+    // cele mai vechi evenimente întâi, ca log-urile să ajungă în ordinea în care au fost scrise
+    List<AuditOutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+}
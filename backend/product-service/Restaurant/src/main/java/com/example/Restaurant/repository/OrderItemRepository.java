@@ -1,9 +1,19 @@
 package com.example.Restaurant.repository;
 
 import com.example.Restaurant.model.OrderItem;
+import com.example.Restaurant.repository.projection.OrderItemRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.Restaurant.repository.projection.OrderItemRow(i.order.id, i.id, p.id, p.name, i.quantity, i.priceAtOrder) " +
+            "FROM OrderItem i JOIN i.product p WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id")
+    List<OrderItemRow> findRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+}
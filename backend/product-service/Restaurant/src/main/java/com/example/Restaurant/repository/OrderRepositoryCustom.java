@@ -0,0 +1,14 @@
+package com.example.Restaurant.repository;
+
+import com.example.Restaurant.dto.OrderHistoryRequest;
+import com.example.Restaurant.repository.projection.OrderExportRow;
+import com.example.Restaurant.repository.projection.OrderRow;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+    List<OrderRow> findHistoryPage(OrderHistoryRequest filter, int limit);
+
+    Stream<OrderExportRow> streamExportRows(int fetchSize);
+}
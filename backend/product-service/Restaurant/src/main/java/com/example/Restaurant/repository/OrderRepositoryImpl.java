@@ -0,0 +1,81 @@
+package com.example.Restaurant.repository;
+
+import com.example.Restaurant.dto.OrderHistoryRequest;
+import com.example.Restaurant.repository.projection.OrderExportRow;
+import com.example.Restaurant.repository.projection.OrderRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Istoricul comenzilor, cele mai noi primele, paginat keyset pe (order_date, id).
+ * Interogarea merge pe indexul idx_orders_order_date_id, deci costul unei pagini
+ * nu depinde de câte comenzi sunt în tabel.
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderRow> findHistoryPage(OrderHistoryRequest filter, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.example.Restaurant.repository.projection.OrderRow(" +
+                        "o.id, o.orderDate, o.totalAmount, o.customerName, o.customerAddress) " +
+                        "FROM Order o WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.getFrom() != null) {
+            jpql.append(" AND o.orderDate >= :from");
+            params.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" AND o.orderDate < :to");
+            params.put("to", filter.getTo());
+        }
+        if (filter.getCustomerPrefix() != null && !filter.getCustomerPrefix().isBlank()) {
+            jpql.append(" AND o.customerName LIKE :customerPrefix ESCAPE '!'");
+            params.put("customerPrefix", escapeLike(filter.getCustomerPrefix().trim()) + "%");
+        }
+        if (filter.getAfterOrderDate() != null) {
+            jpql.append(" AND (o.orderDate < :afterOrderDate" +
+                    " OR (o.orderDate = :afterOrderDate AND o.id < :afterId))");
+            params.put("afterOrderDate", filter.getAfterOrderDate());
+            params.put("afterId", filter.getAfterId() != null ? filter.getAfterId() : Long.MAX_VALUE);
+        }
+        jpql.append(" ORDER BY o.orderDate DESC, o.id DESC");
+
+        TypedQuery<OrderRow> query = entityManager.createQuery(jpql.toString(), OrderRow.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    /**
+     * Exportul: comenzile împreună cu produsele lor, într-o singură interogare, pe un cursor înainte-only.
+     * Cu fetchSize = Integer.MIN_VALUE, Connector/J trimite rândurile pe rând, fără să țină tot rezultatul în memorie;
+     * pe conexiune nu mai poate rula altă interogare până la închiderea stream-ului, de aceea produsele vin prin JOIN.
+     */
+    @Override
+    public Stream<OrderExportRow> streamExportRows(int fetchSize) {
+        return entityManager.createQuery(
+                        "SELECT new com.example.Restaurant.repository.projection.OrderExportRow(" +
+                                "o.id, o.orderDate, o.totalAmount, o.customerName, o.customerAddress, " +
+                                "i.id, p.id, p.name, i.quantity, i.priceAtOrder) " +
+                                "FROM Order o LEFT JOIN o.orderItems i LEFT JOIN i.product p " +
+                                "ORDER BY o.id, i.id", OrderExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
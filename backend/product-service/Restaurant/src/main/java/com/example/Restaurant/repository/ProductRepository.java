@@ -1,14 +1,28 @@
 package com.example.Restaurant.repository;// In file: src/main/java/com/example/Restaurant/repository/ProductRepository.java
 import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.projection.ProductRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     @Query("SELECT p FROM Product p JOIN FETCH p.category LEFT JOIN FETCH p.ingredients")
     List<Product> findAllWithDetails();
     boolean existsByIngredients_Id(Long ingredientId);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.Restaurant.repository.projection.ProductRow(p.id, p.name, p.description, p.price, c.id, p.imageUrl, p.imageThumbUrl, p.imageCardUrl, p.imageFullUrl) " +
+            "FROM Product p LEFT JOIN p.category c ORDER BY p.id")
+    List<ProductRow> findAllRows();
+
+    // [product_id, ingredient_id] - o singură scanare a tabelei de legătură
+    @Query(value = "SELECT product_id, ingredient_id FROM product_ingredients", nativeQuery = true)
+    List<Object[]> findAllIngredientLinks();
+
+    @Query(value = "SELECT product_id, ingredient_id FROM product_ingredients WHERE product_id IN (:productIds)", nativeQuery = true)
+    List<Object[]> findIngredientLinksByProductIds(@Param("productIds") Collection<Long> productIds);
+}
@@ -0,0 +1,14 @@
+package com.example.Restaurant.repository;
+
+import com.example.Restaurant.dto.ProductFilterRequest;
+import com.example.Restaurant.repository.projection.ProductRow;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+    // cheia de cursor a produselor fără categorie; id-urile reale de categorie pornesc de la 1
+    long NO_CATEGORY_KEY = 0L;
+
+    List<ProductRow> findPage(ProductFilterRequest filter, int limit);
+}
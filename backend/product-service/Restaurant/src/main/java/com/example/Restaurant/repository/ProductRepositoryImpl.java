@@ -0,0 +1,76 @@
+package com.example.Restaurant.repository;
+
+import com.example.Restaurant.dto.ProductFilterRequest;
+import com.example.Restaurant.repository.projection.ProductRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paginare keyset pe (category_id, id): fiecare pagină pornește de la ultimul rând
+ * din pagina anterioară, deci costul nu crește odată cu numărul paginii.
+ * Produsele fără categorie vin primele; în cursor categoria lor este {@link #NO_CATEGORY_KEY}.
+ */
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductRow> findPage(ProductFilterRequest filter, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.example.Restaurant.repository.projection.ProductRow(" +
+                        "p.id, p.name, p.description, p.price, p.category.id, p.imageUrl, p.imageThumbUrl, p.imageCardUrl, p.imageFullUrl) " +
+                        "FROM Product p WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filter.getCategoryId() != null) {
+            jpql.append(" AND p.category.id = :categoryId");
+            params.put("categoryId", filter.getCategoryId());
+        }
+        if (filter.getMinPrice() != null) {
+            jpql.append(" AND p.price >= :minPrice");
+            params.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            jpql.append(" AND p.price <= :maxPrice");
+            params.put("maxPrice", filter.getMaxPrice());
+        }
+        if (filter.getIncludeIngredients() != null && !filter.getIncludeIngredients().isEmpty()) {
+            // produsul trebuie să conțină toate ingredientele cerute
+            jpql.append(" AND p.id IN (SELECT pi.id FROM Product pi JOIN pi.ingredients ii" +
+                    " WHERE ii.id IN :includeIngredients GROUP BY pi.id HAVING COUNT(DISTINCT ii.id) = :includeCount)");
+            params.put("includeIngredients", filter.getIncludeIngredients());
+            params.put("includeCount", (long) new HashSet<>(filter.getIncludeIngredients()).size());
+        }
+        if (filter.getExcludeIngredients() != null && !filter.getExcludeIngredients().isEmpty()) {
+            jpql.append(" AND NOT EXISTS (SELECT 1 FROM Product px JOIN px.ingredients ix" +
+                    " WHERE px.id = p.id AND ix.id IN :excludeIngredients)");
+            params.put("excludeIngredients", filter.getExcludeIngredients());
+        }
+        if (filter.getAfterCategoryId() != null) {
+            // predicate directe pe category_id și id (fără COALESCE), ca să poată folosi indexul și cheia primară;
+            // ramura pentru produsele fără categorie apare doar cât timp cursorul este încă printre ele
+            jpql.append(" AND (p.category.id > :afterCategoryId OR (p.category.id = :afterCategoryId AND p.id > :afterId)");
+            if (filter.getAfterCategoryId() == NO_CATEGORY_KEY) {
+                jpql.append(" OR (p.category.id IS NULL AND p.id > :afterId)");
+            }
+            jpql.append(")");
+            params.put("afterCategoryId", filter.getAfterCategoryId());
+            params.put("afterId", filter.getAfterId() != null ? filter.getAfterId() : 0L);
+        }
+        // MySQL (și H2) pun NULL primul la ASC, deci produsele fără categorie vin înaintea celorlalte;
+        // NULLS FIRST explicit ar fi emulat de Hibernate cu un CASE, care iar ocolește indexul
+        jpql.append(" ORDER BY p.category.id, p.id");
+
+        TypedQuery<ProductRow> query = entityManager.createQuery(jpql.toString(), ProductRow.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.Restaurant.repository;
+
+import com.example.Restaurant.model.SalesDimension;
+import com.example.Restaurant.model.SalesRollup;
+import com.example.Restaurant.model.SalesRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, SalesRollupId> {
+
+    // incrementare atomică în baza de date, ca mai multe instanțe să poată scrie în același rând
+    @Modifying
+    @Query("UPDATE SalesRollup r SET r.revenue = r.revenue + :revenue, r.quantity = r.quantity + :quantity, " +
+            "r.orderCount = r.orderCount + :orderCount WHERE r.id = :id")
+    int increment(@Param("id") SalesRollupId id,
+                  @Param("revenue") BigDecimal revenue,
+                  @Param("quantity") long quantity,
+                  @Param("orderCount") long orderCount);
+
+    @Query("SELECT r FROM SalesRollup r WHERE r.id.dimension = :dimension " +
+            "AND r.id.day BETWEEN :from AND :to ORDER BY r.id.day")
+    List<SalesRollup> findByDimensionBetween(@Param("dimension") SalesDimension dimension,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    // Reconstruirea inițială, pentru comenzile plasate înainte ca tabela să existe
+    // Fiecare rând: zi, id dimensiune (0 pentru zi), venit, cantitate, număr de comenzi
+    @Query("SELECT CAST(o.orderDate AS LocalDate), 0L, SUM(i.priceAtOrder * i.quantity), SUM(i.quantity), COUNT(DISTINCT o.id) " +
+            "FROM OrderItem i JOIN i.order o GROUP BY CAST(o.orderDate AS LocalDate)")
+    List<Object[]> aggregateByDay();
+
+    @Query("SELECT CAST(o.orderDate AS LocalDate), i.product.id, SUM(i.priceAtOrder * i.quantity), SUM(i.quantity), COUNT(DISTINCT o.id) " +
+            "FROM OrderItem i JOIN i.order o GROUP BY CAST(o.orderDate AS LocalDate), i.product.id")
+    List<Object[]> aggregateByDayAndProduct();
+
+    @Query("SELECT CAST(o.orderDate AS LocalDate), p.category.id, SUM(i.priceAtOrder * i.quantity), SUM(i.quantity), COUNT(DISTINCT o.id) " +
+            "FROM OrderItem i JOIN i.order o JOIN i.product p WHERE p.category IS NOT NULL " +
+            "GROUP BY CAST(o.orderDate AS LocalDate), p.category.id")
+    List<Object[]> aggregateByDayAndCategory();
+}
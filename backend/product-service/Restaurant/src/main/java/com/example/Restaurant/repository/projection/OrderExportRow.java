@@ -0,0 +1,31 @@
+package com.example.Restaurant.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Un rând din exportul comenzilor: comanda și unul dintre produsele ei (coloanele produsului sunt null dacă nu are)
+@Getter
+@AllArgsConstructor
+public class OrderExportRow {
+    private Long orderId;
+    private LocalDateTime orderDate;
+    private BigDecimal totalAmount;
+    private String customerName;
+    private String customerAddress;
+    private Long itemId;
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal priceAtOrder;
+
+    public OrderRow toOrderRow() {
+        return new OrderRow(orderId, orderDate, totalAmount, customerName, customerAddress);
+    }
+
+    public OrderItemRow toItemRow() {
+        return itemId == null ? null : new OrderItemRow(orderId, itemId, productId, productName, quantity, priceAtOrder);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.Restaurant.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class OrderRow {
+    private Long id;
+    private LocalDateTime orderDate;
+    private BigDecimal totalAmount;
+    private String customerName;
+    private String customerAddress;
+}
@@ -0,0 +1,20 @@
+package com.example.Restaurant.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+@AllArgsConstructor
+public class ProductRow {
+    private Long id;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Long categoryId;
+    private String imageUrl;
+    private String imageThumbUrl;
+    private String imageCardUrl;
+    private String imageFullUrl;
+}
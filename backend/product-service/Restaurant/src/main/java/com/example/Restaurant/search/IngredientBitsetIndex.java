@@ -0,0 +1,258 @@
+package com.example.Restaurant.search;
+
+import com.example.Restaurant.catalog.CatalogChangeListener;
+import com.example.Restaurant.dto.IngredientDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.repository.projection.ProductRow;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index ingredient -> produse ținut ca bitset-uri. Fiecare produs primește un număr de ordine
+ * dens (refolosit după ștergere), iar filtrele de tipul "fără nuci și lactate, din categoria X"
+ * se calculează prin AND / ANDNOT pe bitset-uri, fără a parcurge ingredientele produselor.
+ */
+@Component
+public class IngredientBitsetIndex implements CatalogChangeListener {
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Long> productIds = new ArrayList<>();
+    private final BitSet liveProducts = new BitSet();
+    private final Map<Long, BitSet> productsByIngredient = new HashMap<>();
+    private final Map<Long, BitSet> productsByCategory = new HashMap<>();
+    private final Map<Integer, Long> categoryByOrdinal = new HashMap<>();
+    private final Map<Integer, Set<Long>> ingredientsByOrdinal = new HashMap<>();
+    private volatile boolean loaded;
+
+    public IngredientBitsetIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Id-urile produselor din categoria dată (sau din tot meniul, dacă e null) care conțin
+     * toate ingredientele din {@code includeIngredients} și niciunul din {@code excludeIngredients}.
+     */
+    public Set<Long> findProductIds(Long categoryId, Collection<Long> includeIngredients, Collection<Long> excludeIngredients) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            BitSet result;
+            if (categoryId != null) {
+                result = copy(productsByCategory.get(categoryId));
+            } else {
+                result = (BitSet) liveProducts.clone();
+            }
+            if (includeIngredients != null) {
+                for (Long ingredientId : includeIngredients) {
+                    BitSet products = productsByIngredient.get(ingredientId);
+                    if (products == null) {
+                        return Set.of();
+                    }
+                    result.and(products);
+                }
+            }
+            if (excludeIngredients != null) {
+                for (Long ingredientId : excludeIngredients) {
+                    BitSet products = productsByIngredient.get(ingredientId);
+                    if (products != null) {
+                        result.andNot(products);
+                    }
+                }
+            }
+
+            Set<Long> ids = new HashSet<>(result.cardinality() * 2);
+            for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+                ids.add(productIds.get(ordinal));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isIngredientUsed(Long ingredientId) {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            BitSet products = productsByIngredient.get(ingredientId);
+            return products != null && !products.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductSaved(ProductDetailDTO product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        Set<Long> ingredientIds = new HashSet<>();
+        if (product.getIngredients() != null) {
+            for (IngredientDTO ingredient : product.getIngredients()) {
+                ingredientIds.add(ingredient.getId());
+            }
+        }
+        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                put(product.getId(), categoryId, ingredientIds);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                remove(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCategoryDeleted(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            // Produsele categoriei sunt șterse în cascadă odată cu ea.
+            BitSet products = copy(productsByCategory.get(categoryId));
+            for (int ordinal = products.nextSetBit(0); ordinal >= 0; ordinal = products.nextSetBit(ordinal + 1)) {
+                remove(productIds.get(ordinal));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onIngredientDeleted(Long ingredientId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            BitSet products = productsByIngredient.remove(ingredientId);
+            if (products != null) {
+                for (int ordinal = products.nextSetBit(0); ordinal >= 0; ordinal = products.nextSetBit(ordinal + 1)) {
+                    ingredientsByOrdinal.get(ordinal).remove(ingredientId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            Map<Long, Set<Long>> links = new HashMap<>();
+            for (Object[] link : productRepository.findAllIngredientLinks()) {
+                links.computeIfAbsent(((Number) link[0]).longValue(), id -> new HashSet<>())
+                        .add(((Number) link[1]).longValue());
+            }
+            for (ProductRow row : productRepository.findAllRows()) {
+                put(row.getId(), row.getCategoryId(), links.getOrDefault(row.getId(), Set.of()));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long productId, Long categoryId, Set<Long> ingredientIds) {
+        Integer existing = ordinals.get(productId);
+        int ordinal = existing != null ? existing : allocateOrdinal(productId);
+        if (existing != null) {
+            clearOrdinal(ordinal);
+        }
+
+        liveProducts.set(ordinal);
+        if (categoryId != null) {
+            productsByCategory.computeIfAbsent(categoryId, id -> new BitSet()).set(ordinal);
+            categoryByOrdinal.put(ordinal, categoryId);
+        }
+        for (Long ingredientId : ingredientIds) {
+            productsByIngredient.computeIfAbsent(ingredientId, id -> new BitSet()).set(ordinal);
+        }
+        ingredientsByOrdinal.put(ordinal, new HashSet<>(ingredientIds));
+    }
+
+    private void remove(Long productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+        clearOrdinal(ordinal);
+        liveProducts.clear(ordinal);
+        productIds.set(ordinal, null);
+    }
+
+    private int allocateOrdinal(Long productId) {
+        // refolosim primul loc liber, ca bitset-urile să rămână dense
+        int ordinal = liveProducts.nextClearBit(0);
+        if (ordinal == productIds.size()) {
+            productIds.add(productId);
+        } else {
+            productIds.set(ordinal, productId);
+        }
+        ordinals.put(productId, ordinal);
+        return ordinal;
+    }
+
+    private void clearOrdinal(int ordinal) {
+        Long categoryId = categoryByOrdinal.remove(ordinal);
+        if (categoryId != null) {
+            clearBit(productsByCategory, categoryId, ordinal);
+        }
+        Set<Long> ingredientIds = ingredientsByOrdinal.remove(ordinal);
+        if (ingredientIds != null) {
+            for (Long ingredientId : ingredientIds) {
+                clearBit(productsByIngredient, ingredientId, ordinal);
+            }
+        }
+    }
+
+    private static void clearBit(Map<Long, BitSet> bitsets, Long key, int ordinal) {
+        BitSet bits = bitsets.get(key);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                bitsets.remove(key);
+            }
+        }
+    }
+
+    private static BitSet copy(BitSet bits) {
+        return bits != null ? (BitSet) bits.clone() : new BitSet();
+    }
+}
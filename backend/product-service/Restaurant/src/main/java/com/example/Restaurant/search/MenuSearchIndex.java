@@ -0,0 +1,363 @@
+package com.example.Restaurant.search;
+
+import com.example.Restaurant.catalog.CatalogChangeListener;
+import com.example.Restaurant.dto.CategoryDTO;
+import com.example.Restaurant.dto.IngredientDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.mapper.ProductMapper;
+import com.example.Restaurant.repository.ProductRepository;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Index full-text ținut în memorie pentru căutarea în meniu.
+ * Textul este normalizat (fără diacritice, litere mici), iar greșelile de tastare
+ * sunt tolerate prin potrivire pe trigrame. Se actualizează incremental la fiecare
+ * modificare din catalog, fără a reciti toate produsele.
+ */
+@Component
+public class MenuSearchIndex implements CatalogChangeListener {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final double MIN_FUZZY_SIMILARITY = 0.5;
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 1.5f;
+    private static final float INGREDIENT_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.8f;
+    private static final float FUZZY_MATCH = 0.6f;
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ProductDetailDTO> documents = new HashMap<>();
+    private final Map<Long, Map<String, Float>> documentTerms = new HashMap<>();
+    private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigramTerms = new HashMap<>();
+    private volatile boolean loaded;
+
+    public MenuSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public List<ProductDetailDTO> search(String query, int limit) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = new HashMap<>();
+            for (String token : queryTokens) {
+                scoreToken(token).forEach((id, score) -> scores.merge(id, score, Float::sum));
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                            .thenComparing(e -> documents.get(e.getKey()).getName(),
+                                    Comparator.nullsLast(Comparator.naturalOrder())))
+                    .limit(limit)
+                    .map(e -> documents.get(e.getKey()))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductSaved(ProductDetailDTO product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                index(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                remove(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCategorySaved(CategoryDTO category) {
+        if (category == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            for (ProductDetailDTO doc : findDocuments(d -> d.getCategory() != null
+                    && category.getId().equals(d.getCategory().getId()))) {
+                ProductDetailDTO copy = copyOf(doc);
+                copy.setCategory(category);
+                index(copy);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onCategoryDeleted(Long categoryId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            // Produsele categoriei sunt șterse în cascadă odată cu ea.
+            for (ProductDetailDTO doc : findDocuments(d -> d.getCategory() != null
+                    && categoryId.equals(d.getCategory().getId()))) {
+                remove(doc.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onIngredientSaved(IngredientDTO ingredient) {
+        if (ingredient == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            for (ProductDetailDTO doc : findDocuments(d -> containsIngredient(d, ingredient.getId()))) {
+                ProductDetailDTO copy = copyOf(doc);
+                Set<IngredientDTO> ingredients = new HashSet<>();
+                for (IngredientDTO existing : doc.getIngredients()) {
+                    ingredients.add(ingredient.getId().equals(existing.getId()) ? ingredient : existing);
+                }
+                copy.setIngredients(ingredients);
+                index(copy);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onIngredientDeleted(Long ingredientId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            for (ProductDetailDTO doc : findDocuments(d -> containsIngredient(d, ingredientId))) {
+                ProductDetailDTO copy = copyOf(doc);
+                copy.setIngredients(doc.getIngredients().stream()
+                        .filter(i -> !ingredientId.equals(i.getId()))
+                        .collect(Collectors.toSet()));
+                index(copy);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            productRepository.findAllWithDetails().stream()
+                    .map(ProductMapper::toDetailDTO)
+                    .forEach(this::index);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> scoreToken(String token) {
+        Map<Long, Float> scores = new HashMap<>();
+
+        Map<Long, Float> exact = postings.get(token);
+        if (exact != null) {
+            collect(scores, exact, EXACT_MATCH);
+        }
+
+        for (Map.Entry<String, Map<Long, Float>> entry : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            collect(scores, entry.getValue(), PREFIX_MATCH);
+        }
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> queryTrigrams = trigrams(token);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                for (String term : trigramTerms.getOrDefault(trigram, Set.of())) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+            for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+                String term = candidate.getKey();
+                if (term.equals(token) || term.startsWith(token)) {
+                    continue;
+                }
+                double similarity = 2.0 * candidate.getValue() / (queryTrigrams.size() + trigrams(term).size());
+                if (similarity >= MIN_FUZZY_SIMILARITY) {
+                    collect(scores, postings.get(term), (float) (FUZZY_MATCH * similarity));
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void collect(Map<Long, Float> scores, Map<Long, Float> posting, float factor) {
+        posting.forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+    }
+
+    private void index(ProductDetailDTO product) {
+        remove(product.getId());
+
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, product.getName(), NAME_WEIGHT);
+        addTerms(terms, product.getDescription(), DESCRIPTION_WEIGHT);
+        if (product.getCategory() != null) {
+            addTerms(terms, product.getCategory().getName(), CATEGORY_WEIGHT);
+        }
+        if (product.getIngredients() != null) {
+            for (IngredientDTO ingredient : product.getIngredients()) {
+                addTerms(terms, ingredient.getName(), INGREDIENT_WEIGHT);
+            }
+        }
+
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            Map<Long, Float> posting = postings.computeIfAbsent(term.getKey(), t -> {
+                for (String trigram : trigrams(t)) {
+                    trigramTerms.computeIfAbsent(trigram, g -> new HashSet<>()).add(t);
+                }
+                return new HashMap<>();
+            });
+            posting.put(product.getId(), term.getValue());
+        }
+        documents.put(product.getId(), product);
+        documentTerms.put(product.getId(), terms);
+    }
+
+    private void remove(Long productId) {
+        documents.remove(productId);
+        Map<String, Float> terms = documentTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(productId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                for (String trigram : trigrams(term)) {
+                    Set<String> owners = trigramTerms.get(trigram);
+                    if (owners != null) {
+                        owners.remove(term);
+                        if (owners.isEmpty()) {
+                            trigramTerms.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = " " + term + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private List<ProductDetailDTO> findDocuments(Predicate<ProductDetailDTO> filter) {
+        return documents.values().stream().filter(filter).collect(Collectors.toList());
+    }
+
+    private static boolean containsIngredient(ProductDetailDTO product, Long ingredientId) {
+        return product.getIngredients() != null
+                && product.getIngredients().stream().anyMatch(i -> ingredientId.equals(i.getId()));
+    }
+
+    private static ProductDetailDTO copyOf(ProductDetailDTO product) {
+        return ProductDetailDTO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .imageUrl(product.getImageUrl())
+                .imageThumbUrl(product.getImageThumbUrl())
+                .imageCardUrl(product.getImageCardUrl())
+                .imageFullUrl(product.getImageFullUrl())
+                .category(product.getCategory())
+                .ingredients(product.getIngredients())
+                .build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.cache.MenuSnapshot;
+
+public interface MenuSnapshotService {
+    MenuSnapshot getSnapshot();
+    void invalidate();
+}
@@ -0,0 +1,14 @@
+package com.example.Restaurant.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface OrderExportService {
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+
+    void exportOrders(Format format, OutputStream outputStream) throws IOException;
+}
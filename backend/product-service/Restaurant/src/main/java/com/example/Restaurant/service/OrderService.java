@@ -1,15 +1,20 @@
 package com.example.Restaurant.service;
 
+import com.example.Restaurant.dto.BatchOrderResultDTO;
 import com.example.Restaurant.dto.CreateOrderRequest;
 import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.dto.OrderHistoryPageDTO;
+import com.example.Restaurant.dto.OrderHistoryRequest;
 import com.example.Restaurant.model.Order; // Import Order model for potential internal use
 
 import java.util.List;
 
 public interface OrderService {
     OrderDTO createOrder(CreateOrderRequest createOrderRequest);
+    List<BatchOrderResultDTO> createOrders(List<CreateOrderRequest> createOrderRequests);
     OrderDTO getOrderById(Long id);
     List<OrderDTO> getAllOrders();
+    OrderHistoryPageDTO getOrderHistory(OrderHistoryRequest filter);
     OrderDTO updateOrder(Long id, OrderDTO orderDTO);
     void deleteOrder(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.events.OrderStreamEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OrderStreamService {
+    SseEmitter subscribe(String lastEventId);
+    void publish(OrderStreamEvent.Type type, OrderDTO order);
+}
@@ -0,0 +1,9 @@
+package com.example.Restaurant.service;
+
+import com.example.commons.security.JwtPrincipal;
+
+public interface OrderStreamTokenService {
+    String issue(JwtPrincipal principal);
+    JwtPrincipal verify(String token);
+    long getTtlSeconds();
+}
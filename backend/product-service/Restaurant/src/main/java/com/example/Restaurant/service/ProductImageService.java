@@ -0,0 +1,6 @@
+package com.example.Restaurant.service;
+
+public interface ProductImageService {
+    void generateVariants(Long productId, String imageFileName);
+    void deleteVariants(String imageFileName);
+}
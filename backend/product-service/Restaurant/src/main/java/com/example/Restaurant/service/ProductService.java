@@ -2,8 +2,11 @@ package com.example.Restaurant.service;
 
 import com.example.Restaurant.dto.ProductDTO;
 import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.dto.ProductFilterRequest;
+import com.example.Restaurant.dto.ProductPageDTO;
 import org.springframework.web.multipart.MultipartFile; // Import nou
 
+import java.io.InputStream;
 import java.util.List;
 
 public interface ProductService {
@@ -14,6 +17,10 @@ public interface ProductService {
     void delete(Long id);
     boolean isIngredientUsed(Long ingredientId);
     ProductDTO uploadProductImage(Long productId, MultipartFile imageFile);
+    ProductDTO uploadProductImage(Long productId, InputStream content, long contentLength);
     void deleteProductImage(Long productId);
     List<ProductDetailDTO> findAllWithDetails();
+    ProductPageDTO findPage(ProductFilterRequest filter);
+    List<ProductDetailDTO> search(String query, int limit);
+    List<ProductDTO> findWithoutIngredients(Long categoryId, List<Long> excludedIngredientIds);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.dto.SalesStatsDTO;
+import com.example.Restaurant.model.Order;
+
+import java.time.LocalDate;
+
+public interface SalesStatsService {
+    void recordOrderCreated(Order order);
+    void recordOrderDeleted(Order order);
+    SalesStatsDTO getStats(LocalDate from, LocalDate to);
+    void flush();
+}
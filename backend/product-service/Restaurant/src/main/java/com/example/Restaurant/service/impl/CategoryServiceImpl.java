@@ -1,5 +1,6 @@
 package com.example.Restaurant.service.impl;
 
+import com.example.Restaurant.catalog.CatalogChangeNotifier;
 import com.example.Restaurant.dto.CategoryDTO;
 import com.example.Restaurant.mapper.CategoryMapper;
 import com.example.Restaurant.model.Category;
@@ -16,6 +17,7 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CatalogChangeNotifier catalogChangeNotifier;
 
     @Override
     public List<CategoryDTO> findAll() {
@@ -35,7 +37,9 @@ public class CategoryServiceImpl implements CategoryService {
     public CategoryDTO create(CategoryDTO dto) {
         Category category = CategoryMapper.toEntity(dto);
         Category saved = categoryRepository.save(category);
-        return CategoryMapper.toDTO(saved);
+        CategoryDTO result = CategoryMapper.toDTO(saved);
+        catalogChangeNotifier.categorySaved(result);
+        return result;
     }
 
     @Override
@@ -46,11 +50,14 @@ public class CategoryServiceImpl implements CategoryService {
         existing.setName(dto.getName());
         existing.setDescription(dto.getDescription());
 
-        return CategoryMapper.toDTO(categoryRepository.save(existing));
+        CategoryDTO result = CategoryMapper.toDTO(categoryRepository.save(existing));
+        catalogChangeNotifier.categorySaved(result);
+        return result;
     }
 
     @Override
     public void delete(Long id) {
         categoryRepository.deleteById(id);
+        catalogChangeNotifier.categoryDeleted(id);
     }
 }
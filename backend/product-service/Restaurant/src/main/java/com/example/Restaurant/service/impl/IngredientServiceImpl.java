@@ -1,5 +1,6 @@
 package com.example.Restaurant.service.impl;
 
+import com.example.Restaurant.catalog.CatalogChangeNotifier;
 import com.example.Restaurant.dto.IngredientDTO;
 import com.example.Restaurant.mapper.IngredientMapper;
 import com.example.Restaurant.model.Ingredient;
@@ -16,6 +17,7 @@ import java.util.stream.Collectors;
 public class IngredientServiceImpl implements IngredientService {
 
     private final IngredientRepository ingredientRepository;
+    private final CatalogChangeNotifier catalogChangeNotifier;
 
     @Override
     public List<IngredientDTO> findAll() {
@@ -35,7 +37,9 @@ public class IngredientServiceImpl implements IngredientService {
     public IngredientDTO create(IngredientDTO dto) {
         Ingredient ingredient = IngredientMapper.toEntity(dto);
         Ingredient saved = ingredientRepository.save(ingredient);
-        return IngredientMapper.toDTO(saved);
+        IngredientDTO result = IngredientMapper.toDTO(saved);
+        catalogChangeNotifier.ingredientSaved(result);
+        return result;
     }
 
     @Override
@@ -45,11 +49,14 @@ public class IngredientServiceImpl implements IngredientService {
 
         existing.setName(dto.getName());
 
-        return IngredientMapper.toDTO(ingredientRepository.save(existing));
+        IngredientDTO result = IngredientMapper.toDTO(ingredientRepository.save(existing));
+        catalogChangeNotifier.ingredientSaved(result);
+        return result;
     }
 
     @Override
     public void delete(Long id) {
         ingredientRepository.deleteById(id);
+        catalogChangeNotifier.ingredientDeleted(id);
     }
 }
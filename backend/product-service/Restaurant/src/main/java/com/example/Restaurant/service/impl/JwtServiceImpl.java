@@ -2,35 +2,35 @@ package com.example.Restaurant.service.impl;
 
 import com.example.Restaurant.model.User;
 import com.example.Restaurant.service.JwtService;
-import io.jsonwebtoken.Claims;
+import com.example.commons.security.JwtVerifier;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
 
 @Service
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${jwt.secret-key}")
-    private String secretKey;
+    // verificarea (cheie, parser, cache de token-uri) vine din restaurant-commons
+    private final JwtVerifier jwtVerifier;
+    private final long jwtExpiration;
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    public JwtServiceImpl(JwtVerifier jwtVerifier,
+                          @Value("${jwt.expiration}") long jwtExpiration) {
+        this.jwtVerifier = jwtVerifier;
+        this.jwtExpiration = jwtExpiration;
+    }
 
     @Override
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return String.valueOf(jwtVerifier.verify(token).id());
     }
 
     @Override
@@ -47,8 +47,9 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
+        // verify respinge deja token-urile expirate
         final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return username.equals(userDetails.getUsername());
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -62,39 +63,11 @@ public class JwtServiceImpl implements JwtService {
                 .setSubject(String.valueOf(((User) userDetails).getId()))
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public String extractName(String token) {
-        return extractClaim(token, claims -> claims.get("name", String.class));
+        return jwtVerifier.verify(token).name();
     }
-}
\ No newline at end of file
+}
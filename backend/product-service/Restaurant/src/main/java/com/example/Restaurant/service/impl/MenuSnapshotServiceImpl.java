@@ -0,0 +1,133 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.cache.MenuSnapshot;
+import com.example.Restaurant.catalog.CatalogChangeListener;
+import com.example.Restaurant.cache.SerializedPayload;
+import com.example.Restaurant.dto.CategoryDTO;
+import com.example.Restaurant.dto.IngredientDTO;
+import com.example.Restaurant.dto.ProductDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.mapper.ProductMapper;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.service.MenuSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class MenuSnapshotServiceImpl implements MenuSnapshotService, CatalogChangeListener {
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean preSerialized;
+
+    // Identifică pornirea curentă, ca un ETag vechi să nu se potrivească după un restart.
+    private final String instanceTag = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong catalogVersion = new AtomicLong(1);
+    // ReentrantLock, nu synchronized: reconstruirea citește din baza de date, iar pe fire virtuale (Java 21)
+    // un synchronized ar bloca firul purtător pe toată durata interogării
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile MenuSnapshot snapshot;
+
+    public MenuSnapshotServiceImpl(ProductRepository productRepository,
+                                   ObjectMapper objectMapper,
+                                   @Value("${menu.snapshot.pre-serialized:true}") boolean preSerialized) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.preSerialized = preSerialized;
+    }
+
+    @Override
+    public MenuSnapshot getSnapshot() {
+        MenuSnapshot current = snapshot;
+        if (current != null && current.getVersion() == catalogVersion.get()) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            current = snapshot;
+            long version = catalogVersion.get();
+            if (current != null && current.getVersion() == version) {
+                return current;
+            }
+            current = rebuild(version);
+            snapshot = current;
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        catalogVersion.incrementAndGet();
+    }
+
+    @Override
+    public void onProductSaved(ProductDetailDTO product) {
+        invalidate();
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        invalidate();
+    }
+
+    @Override
+    public void onCategorySaved(CategoryDTO category) {
+        invalidate();
+    }
+
+    @Override
+    public void onCategoryDeleted(Long categoryId) {
+        invalidate();
+    }
+
+    @Override
+    public void onIngredientSaved(IngredientDTO ingredient) {
+        invalidate();
+    }
+
+    @Override
+    public void onIngredientDeleted(Long ingredientId) {
+        invalidate();
+    }
+
+    private MenuSnapshot rebuild(long version) {
+        List<ProductDetailDTO> products = productRepository.findAllWithDetails().stream()
+                .map(ProductMapper::toDetailDTO)
+                .collect(Collectors.toList());
+        List<ProductDTO> productSummaries = ProductMapper.toDTOList(
+                productRepository.findAllRows(), productRepository.findAllIngredientLinks());
+
+        String tag = instanceTag + "-" + version;
+        SerializedPayload productsPayload = null;
+        SerializedPayload productSummariesPayload = null;
+        if (preSerialized) {
+            productsPayload = serialize(products, "menu-" + tag);
+            productSummariesPayload = serialize(productSummaries, "products-" + tag);
+        }
+        return new MenuSnapshot(version, tag, products, productSummaries, productsPayload, productSummariesPayload);
+    }
+
+    private SerializedPayload serialize(Object body, String tag) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(json.length / 4, 64));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new SerializedPayload(json, compressed.toByteArray(), tag);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize menu snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.dto.OrderItemDTO;
+import com.example.Restaurant.mapper.OrderItemMapper;
+import com.example.Restaurant.mapper.OrderMapper;
+import com.example.Restaurant.repository.OrderRepository;
+import com.example.Restaurant.repository.projection.OrderExportRow;
+import com.example.Restaurant.repository.projection.OrderItemRow;
+import com.example.Restaurant.repository.projection.OrderRow;
+import com.example.Restaurant.service.OrderExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Exportă toate comenzile fără a le ține în memorie: comenzile și produsele lor vin pe un singur cursor,
+ * ordonat după comandă, iar fiecare comandă este scrisă imediat ce se termină rândurile ei.
+ */
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final String CSV_HEADER = "orderId,orderDate,customerName,customerAddress,totalAmount," +
+            "itemId,productId,productName,quantity,priceAtOrder";
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int fetchSize;
+
+    public OrderExportServiceImpl(OrderRepository orderRepository,
+                                  OrderMapper orderMapper,
+                                  OrderItemMapper orderItemMapper,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${orders.export.batch-size:500}") int batchSize,
+                                  @Value("${orders.export.fetch-size:" + Integer.MIN_VALUE + "}") int fetchSize) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.batchSize = Math.max(1, batchSize);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void exportOrders(Format format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try {
+            // cursorul trăiește cât tranzacția, așa că tot exportul rulează în ea
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(fetchSize)) {
+                    writeOrders(rows.iterator(), format, writer);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeOrders(Iterator<OrderExportRow> rows, Format format, Writer writer) {
+        OrderRow order = null;
+        List<OrderItemDTO> items = new ArrayList<>();
+        int written = 0;
+        try {
+            while (rows.hasNext()) {
+                OrderExportRow row = rows.next();
+                if (order == null || !order.getId().equals(row.getOrderId())) {
+                    if (order != null) {
+                        write(order, items, format, writer);
+                        // trimitem lotul către client, ca memoria să nu crească odată cu exportul
+                        if (++written % batchSize == 0) {
+                            writer.flush();
+                        }
+                    }
+                    order = row.toOrderRow();
+                    items = new ArrayList<>();
+                }
+                OrderItemRow item = row.toItemRow();
+                if (item != null) {
+                    items.add(orderItemMapper.toDto(item));
+                }
+            }
+            if (order != null) {
+                write(order, items, format, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(OrderRow order, List<OrderItemDTO> items, Format format, Writer writer) throws IOException {
+        if (format == Format.CSV) {
+            writeCsv(order, items, writer);
+        } else {
+            writeJson(order, items, writer);
+        }
+    }
+
+    private void writeJson(OrderRow order, List<OrderItemDTO> items, Writer writer) throws IOException {
+        writer.write(objectMapper.writeValueAsString(orderMapper.toDto(order, items)));
+        writer.write('\n');
+    }
+
+    private void writeCsv(OrderRow order, List<OrderItemDTO> items, Writer writer) throws IOException {
+        String orderColumns = order.getId() + "," +
+                csv(Objects.toString(order.getOrderDate(), "")) + "," +
+                csv(order.getCustomerName()) + "," +
+                csv(order.getCustomerAddress()) + "," +
+                Objects.toString(order.getTotalAmount(), "");
+
+        // o linie pentru fiecare produs comandat; comenzile fără produse au coloanele goale
+        if (items.isEmpty()) {
+            writer.write(orderColumns + ",,,,,\n");
+            return;
+        }
+        for (OrderItemDTO item : items) {
+            writer.write(orderColumns + "," +
+                    item.getId() + "," +
+                    item.getProductId() + "," +
+                    csv(item.getProductName()) + "," +
+                    item.getQuantity() + "," +
+                    Objects.toString(item.getPriceAtOrder(), "") + "\n");
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
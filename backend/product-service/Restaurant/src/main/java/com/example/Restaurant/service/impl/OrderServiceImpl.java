@@ -1,7 +1,14 @@
 package com.example.Restaurant.service.impl;
 
+import com.example.Restaurant.audit.AuditOutbox;
+import com.example.Restaurant.dto.BatchOrderResultDTO;
 import com.example.Restaurant.dto.CreateOrderRequest;
 import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.dto.OrderHistoryPageDTO;
+import com.example.Restaurant.dto.OrderHistoryRequest;
+import com.example.Restaurant.dto.OrderItemDTO;
+import com.example.Restaurant.dto.OrderItemRequestDTO;
+import com.example.Restaurant.events.OrderStreamEvent;
 import com.example.Restaurant.mapper.OrderMapper;
 import com.example.Restaurant.mapper.OrderItemMapper;
 import com.example.Restaurant.model.Order;
@@ -10,75 +17,189 @@ import com.example.Restaurant.model.Product;
 import com.example.Restaurant.repository.OrderItemRepository;
 import com.example.Restaurant.repository.OrderRepository;
 import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.repository.projection.OrderRow;
 import com.example.Restaurant.service.OrderService;
+import com.example.Restaurant.service.OrderStreamService;
+import com.example.Restaurant.service.SalesStatsService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
+    private final SalesStatsService salesStatsService;
+    private final OrderStreamService orderStreamService;
+    private final AuditOutbox auditOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchChunkSize;
 
     public OrderServiceImpl(OrderRepository orderRepository,
                             OrderItemRepository orderItemRepository,
                             ProductRepository productRepository,
                             OrderMapper orderMapper,
-                            OrderItemMapper orderItemMapper) {
+                            OrderItemMapper orderItemMapper,
+                            SalesStatsService salesStatsService,
+                            OrderStreamService orderStreamService,
+                            AuditOutbox auditOutbox,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${orders.batch.chunk-size:200}") int batchChunkSize) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.productRepository = productRepository;
         this.orderMapper = orderMapper;
         this.orderItemMapper = orderItemMapper;
+        this.salesStatsService = salesStatsService;
+        this.orderStreamService = orderStreamService;
+        this.auditOutbox = auditOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchChunkSize = Math.max(1, batchChunkSize);
     }
 
     @Override
     @Transactional
     public OrderDTO createOrder(CreateOrderRequest createOrderRequest) {
-        Order order = orderMapper.toEntity(createOrderRequest);
-        order.setOrderDate(LocalDateTime.now());
+        Map<Long, Product> products = loadProducts(List.of(createOrderRequest));
+        Order savedOrder = orderRepository.save(buildOrder(createOrderRequest, products));
+        salesStatsService.recordOrderCreated(savedOrder);
+        OrderDTO created = orderMapper.toDto(savedOrder);
+        orderStreamService.publish(OrderStreamEvent.Type.CREATED, created);
+        audit("CREATE", String.format("Utilizatorul '%s' a creat o comandă nouă cu ID-ul: %d.",
+                auditOutbox.currentActor(), savedOrder.getId()));
+        return created;
+    }
 
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        List<OrderItem> orderItems = new java.util.ArrayList<>();
+    @Override
+    public List<BatchOrderResultDTO> createOrders(List<CreateOrderRequest> createOrderRequests) {
+        List<BatchOrderResultDTO> results = new ArrayList<>(createOrderRequests.size());
+        Map<Long, Product> products = loadProducts(createOrderRequests);
 
-        if (createOrderRequest.getItems() != null && !createOrderRequest.getItems().isEmpty()) {
-            for (com.example.Restaurant.dto.OrderItemRequestDTO itemRequest : createOrderRequest.getItems()) {
-                Product product = productRepository.findById(itemRequest.getProductId())
-                        .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + itemRequest.getProductId()));
+        // comenzile invalide sunt respinse individual, fără să blocheze restul lotului
+        List<Order> pending = new ArrayList<>();
+        List<BatchOrderResultDTO> pendingResults = new ArrayList<>();
+        for (int i = 0; i < createOrderRequests.size(); i++) {
+            try {
+                pending.add(buildOrder(createOrderRequests.get(i), products));
+                BatchOrderResultDTO result = BatchOrderResultDTO.builder().index(i).build();
+                pendingResults.add(result);
+                results.add(result);
+            } catch (EntityNotFoundException | IllegalArgumentException e) {
+                results.add(BatchOrderResultDTO.builder()
+                        .index(i)
+                        .status(BatchOrderResultDTO.Status.REJECTED)
+                        .error(e.getMessage())
+                        .build());
+            }
+        }
 
-                if (itemRequest.getQuantity() <= 0) {
-                    throw new IllegalArgumentException("Quantity for product ID " + itemRequest.getProductId() + " must be greater than zero.");
+        // fiecare bucată are tranzacția ei; INSERT-urile sunt trimise în batch la commit
+        String actor = auditOutbox.currentActor();
+        for (int from = 0; from < pending.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, pending.size());
+            List<Order> chunk = pending.subList(from, to);
+            List<BatchOrderResultDTO> chunkResults = pendingResults.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    orderRepository.saveAll(chunk);
+                    for (Order order : chunk) {
+                        salesStatsService.recordOrderCreated(order);
+                        orderStreamService.publish(OrderStreamEvent.Type.CREATED, orderMapper.toDto(order));
+                    }
+                    // un singur log pentru fiecare bucată, nu câte unul pentru fiecare comandă
+                    audit("CREATE", String.format("Utilizatorul '%s' a importat un lot de comenzi: %d create (ID-uri %d - %d).",
+                            actor, chunk.size(), chunk.get(0).getId(), chunk.get(chunk.size() - 1).getId()));
+                });
+                for (int i = 0; i < chunk.size(); i++) {
+                    chunkResults.get(i).setStatus(BatchOrderResultDTO.Status.CREATED);
+                    chunkResults.get(i).setOrderId(chunk.get(i).getId());
+                    chunkResults.get(i).setTotalAmount(chunk.get(i).getTotalAmount());
                 }
+            } catch (Exception e) {
+                System.err.println("### Eroare la salvarea lotului de comenzi: " + e.getMessage());
+                for (BatchOrderResultDTO result : chunkResults) {
+                    result.setStatus(BatchOrderResultDTO.Status.FAILED);
+                    result.setError(e.getMessage());
+                }
+            }
+        }
+        return results;
+    }
 
-                OrderItem orderItem = OrderItem.builder()
-                        .product(product)
-                        .quantity(itemRequest.getQuantity())
-                        .priceAtOrder(product.getPrice())
-                        .order(order)
-                        .build();
-
-                orderItems.add(orderItem);
-                totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+    // Toate produsele referite de comenzi, aduse cu un singur SELECT ... WHERE id IN (...)
+    private Map<Long, Product> loadProducts(List<CreateOrderRequest> requests) {
+        Set<Long> productIds = new HashSet<>();
+        for (CreateOrderRequest request : requests) {
+            if (request.getItems() != null) {
+                for (OrderItemRequestDTO item : request.getItems()) {
+                    if (item.getProductId() != null) {
+                        productIds.add(item.getProductId());
+                    }
+                }
             }
-        } else {
+        }
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private Order buildOrder(CreateOrderRequest createOrderRequest, Map<Long, Product> products) {
+        if (createOrderRequest.getItems() == null || createOrderRequest.getItems().isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item.");
         }
 
+        Order order = orderMapper.toEntity(createOrderRequest);
+        order.setOrderDate(LocalDateTime.now());
+
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        List<OrderItem> orderItems = new ArrayList<>(createOrderRequest.getItems().size());
+
+        for (OrderItemRequestDTO itemRequest : createOrderRequest.getItems()) {
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new EntityNotFoundException("Product not found with ID: " + itemRequest.getProductId());
+            }
+
+            if (itemRequest.getQuantity() == null || itemRequest.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity for product ID " + itemRequest.getProductId() + " must be greater than zero.");
+            }
+
+            OrderItem orderItem = OrderItem.builder()
+                    .product(product)
+                    .quantity(itemRequest.getQuantity())
+                    .priceAtOrder(product.getPrice())
+                    .order(order)
+                    .build();
+
+            orderItems.add(orderItem);
+            totalAmount = totalAmount.add(product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+        }
 
         order.setOrderItems(orderItems);
         order.setTotalAmount(totalAmount);
-        Order savedOrder = orderRepository.save(order);
-
-        return orderMapper.toDto(savedOrder);
+        return order;
     }
 
     @Override
@@ -96,24 +217,65 @@ public class OrderServiceImpl implements OrderService {
         return orderMapper.toDtoList(orders);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public OrderHistoryPageDTO getOrderHistory(OrderHistoryRequest filter) {
+        int size = filter.getSize() == null ? DEFAULT_HISTORY_PAGE_SIZE : Math.max(1, Math.min(filter.getSize(), MAX_HISTORY_PAGE_SIZE));
+
+        // cerem un rând în plus ca să știm dacă mai există o pagină
+        List<OrderRow> rows = orderRepository.findHistoryPage(filter, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        if (rows.isEmpty()) {
+            return OrderHistoryPageDTO.builder().items(List.of()).hasMore(false).build();
+        }
+
+        List<Long> ids = rows.stream().map(OrderRow::getId).collect(Collectors.toList());
+        Map<Long, List<OrderItemDTO>> itemsByOrder = orderItemMapper.groupByOrderId(orderItemRepository.findRowsByOrderIds(ids));
+        List<OrderDTO> items = rows.stream()
+                .map(row -> orderMapper.toDto(row, itemsByOrder.getOrDefault(row.getId(), List.of())))
+                .collect(Collectors.toList());
+        OrderRow last = rows.get(rows.size() - 1);
+
+        return OrderHistoryPageDTO.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextAfterOrderDate(hasMore ? last.getOrderDate() : null)
+                .nextAfterId(hasMore ? last.getId() : null)
+                .build();
+    }
+
     @Override
     @Transactional
     public OrderDTO updateOrder(Long id, OrderDTO orderDTO) {
         Order existingOrder = orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + id));
 
+        // se schimbă doar datele clientului; sumele și produsele rămân, deci statisticile de vânzări nu se modifică
         existingOrder.setCustomerName(orderDTO.getCustomerName());
         existingOrder.setCustomerAddress(orderDTO.getCustomerAddress());
         Order updatedOrder = orderRepository.save(existingOrder);
-        return orderMapper.toDto(updatedOrder);
+        OrderDTO updated = orderMapper.toDto(updatedOrder);
+        orderStreamService.publish(OrderStreamEvent.Type.UPDATED, updated);
+        audit("UPDATE", String.format("Utilizatorul '%s' a actualizat comanda cu ID-ul %d. Noul total este: %.2f.",
+                auditOutbox.currentActor(), updatedOrder.getId(), updatedOrder.getTotalAmount()));
+        return updated;
     }
 
     @Override
     @Transactional
     public void deleteOrder(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new EntityNotFoundException("Order not found with ID: " + id);
-        }
-        orderRepository.deleteById(id);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + id));
+        salesStatsService.recordOrderDeleted(order);
+        orderStreamService.publish(OrderStreamEvent.Type.DELETED, orderMapper.toDto(order));
+        orderRepository.delete(order);
+        audit("DELETE", String.format("Utilizatorul '%s' a șters comanda cu ID-ul: %d.", auditOutbox.currentActor(), id));
+    }
+
+    private void audit(String operationType, String message) {
+        auditOutbox.record(AuditOutbox.ROUTING_KEY_ORDER, "ORDER", operationType, message);
     }
-}
\ No newline at end of file
+}
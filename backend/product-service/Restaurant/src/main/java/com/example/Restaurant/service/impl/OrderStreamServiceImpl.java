@@ -0,0 +1,276 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.events.OrderStreamEvent;
+import com.example.Restaurant.service.OrderStreamService;
+import com.example.commons.concurrent.ThreadFactories;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Distribuie comenzile noi / modificate / șterse către ecranele din bucătărie prin SSE.
+ * Fiecare abonat are o coadă mărginită; un client prea lent este deconectat și, la reconectare,
+ * primește din fereastra de reluare tot ce a pierdut (după Last-Event-ID).
+ */
+@Service
+public class OrderStreamServiceImpl implements OrderStreamService {
+
+    // Trimis când Last-Event-ID nu mai e în fereastră: clientul trebuie să reîncarce istoricul
+    static final String RESYNC_EVENT = "resync";
+
+    // Identifică pornirea curentă, ca id-urile dintr-o pornire anterioară să nu fie confundate
+    private final String instanceTag = Long.toHexString(System.currentTimeMillis());
+    private final long timeoutMillis;
+    private final int bufferSize;
+
+    private final OrderStreamEvent[] replay;
+    private long nextSequence = 1;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+
+    public OrderStreamServiceImpl(@Value("${orders.stream.timeout-ms:1800000}") long timeoutMillis,
+                                  @Value("${orders.stream.buffer-size:256}") int bufferSize,
+                                  @Value("${orders.stream.replay-size:256}") int replaySize,
+                                  @Value("${orders.stream.sender-threads:2}") int senderThreads,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.replay = new OrderStreamEvent[Math.max(1, replaySize)];
+        // reluarea intră în coada abonatului: o fereastră mai mare ar deconecta clientul chiar în timpul reluării
+        if (replay.length > this.bufferSize) {
+            throw new IllegalArgumentException("orders.stream.replay-size (" + replay.length
+                    + ") nu poate depăși orders.stream.buffer-size (" + this.bufferSize + ")");
+        }
+        // trimiterile stau blocate pe socket-ul clientului: pe Java 21 pot rula pe fire virtuale
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads),
+                ThreadFactories.forBlockingIo("order-stream-", virtualThreads));
+    }
+
+    @Override
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = register(lastEventId, new EmitterSink(emitter));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+        return emitter;
+    }
+
+    @Override
+    public void publish(OrderStreamEvent.Type type, OrderDTO order) {
+        // ecranele văd doar ce a fost confirmat în baza de date
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(type, order);
+                }
+            });
+        } else {
+            dispatch(type, order);
+        }
+    }
+
+    // Comentariu SSE periodic: ține conexiunea deschisă prin proxy-uri și descoperă clienții plecați
+    @Scheduled(fixedDelayString = "${orders.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(Message.HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.sink.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    Subscriber register(String lastEventId, EventSink sink) {
+        Subscriber subscriber = new Subscriber(sink);
+        // înregistrarea și copierea ferestrei se fac sub același lock ca publicarea,
+        // ca niciun eveniment să nu fie pierdut sau trimis de două ori
+        synchronized (replay) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<OrderStreamEvent> missed = eventsAfter(lastEventId);
+                if (missed == null || missed.size() > bufferSize) {
+                    subscriber.enqueue(Message.RESYNC);
+                } else {
+                    missed.forEach(event -> subscriber.enqueue(new Message(event)));
+                }
+            }
+            // un abonat închis deja în timpul reluării nu mai primește nimic
+            if (!subscriber.closed) {
+                subscribers.add(subscriber);
+            }
+        }
+        return subscriber;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void dispatch(OrderStreamEvent.Type type, OrderDTO order) {
+        synchronized (replay) {
+            long sequence = nextSequence++;
+            OrderStreamEvent event = new OrderStreamEvent(instanceTag + "-" + sequence, sequence, type, order);
+            replay[(int) (sequence % replay.length)] = event;
+
+            Message message = new Message(event);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(message);
+            }
+        }
+    }
+
+    // null = id necunoscut sau ieșit din fereastră
+    private List<OrderStreamEvent> eventsAfter(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(instanceTag)) {
+            return null;
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        long oldestAvailable = Math.max(1, nextSequence - replay.length);
+        if (lastSequence < oldestAvailable - 1 || lastSequence >= nextSequence) {
+            return null;
+        }
+        List<OrderStreamEvent> missed = new ArrayList<>();
+        for (long sequence = lastSequence + 1; sequence < nextSequence; sequence++) {
+            missed.add(replay[(int) (sequence % replay.length)]);
+        }
+        return missed;
+    }
+
+    interface EventSink {
+        void send(Message message) throws IOException;
+
+        void complete();
+    }
+
+    static final class Message {
+        static final Message HEARTBEAT = new Message(null);
+        static final Message RESYNC = new Message(null);
+
+        final OrderStreamEvent event;
+
+        Message(OrderStreamEvent event) {
+            this.event = event;
+        }
+    }
+
+    final class Subscriber {
+        private final EventSink sink;
+        private final Queue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(EventSink sink) {
+            this.sink = sink;
+        }
+
+        void enqueue(Message message) {
+            if (!buffer.offer(message)) {
+                // coada e plină: clientul nu ține pasul, îl deconectăm ca să nu blocheze pe ceilalți
+                System.err.println("### Abonat SSE prea lent, deconectat (" + bufferSize + " evenimente în așteptare)");
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void close() {
+            closed = true;
+            unregister(this);
+            sink.complete();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (Exception e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = buffer.poll()) != null) {
+                    sink.send(message);
+                }
+            } catch (Exception e) {
+                close();
+                buffer.clear();
+            } finally {
+                draining.set(false);
+            }
+            // un mesaj poate fi sosit între ultimul poll și eliberarea flag-ului
+            if (!buffer.isEmpty() && subscribers.contains(this)) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private static final class EmitterSink implements EventSink {
+        private final SseEmitter emitter;
+
+        private EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(Message message) throws IOException {
+            if (message == Message.HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else if (message == Message.RESYNC) {
+                emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+            } else {
+                OrderStreamEvent event = message.event;
+                emitter.send(SseEmitter.event()
+                        .id(event.getId())
+                        .name(event.getType().name().toLowerCase())
+                        .data(event.getOrder()));
+            }
+        }
+
+        @Override
+        public void complete() {
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // conexiunea e deja închisă
+            }
+        }
+    }
+}
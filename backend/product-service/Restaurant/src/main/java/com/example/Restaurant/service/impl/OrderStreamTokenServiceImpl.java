@@ -0,0 +1,79 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.service.OrderStreamTokenService;
+import com.example.commons.security.JwtPrincipal;
+import com.example.commons.security.JwtVerifier;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Date;
+
+/**
+ * Token-uri scurte pentru fluxul SSE de comenzi. EventSource din browser nu poate trimite header-ul Authorization,
+ * așa că ecranele cer un astfel de token cu token-ul lor obișnuit și îl pun în URL-ul fluxului.
+ * <p>
+ * Sunt semnate cu o cheie derivată din cea a serviciului de autentificare, nu cu ea însăși: un token scăpat
+ * într-un log de acces nu trece de JwtAuthenticationFilter și deschide doar fluxul, cât timp nu a expirat.
+ */
+@Service
+public class OrderStreamTokenServiceImpl implements OrderStreamTokenService {
+
+    private static final String KEY_PURPOSE = "orders-stream";
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long ttlSeconds;
+
+    public OrderStreamTokenServiceImpl(JwtVerifier jwtVerifier,
+                                       @Value("${orders.stream.token-ttl-seconds:300}") long ttlSeconds) {
+        this.signingKey = Keys.hmacShaKeyFor(derive(jwtVerifier.getSigningKey(), KEY_PURPOSE));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    @Override
+    public String issue(JwtPrincipal principal) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(String.valueOf(principal.id()))
+                .claim("name", principal.name())
+                .claim("email", principal.email())
+                .claim("roles", principal.roles())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlSeconds * 1000))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Aruncă {@link io.jsonwebtoken.JwtException} pentru semnătură invalidă (inclusiv un token obișnuit) sau token expirat.
+     */
+    @Override
+    public JwtPrincipal verify(String token) {
+        return JwtPrincipal.from(parser.parseClaimsJws(token).getBody());
+    }
+
+    @Override
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    private static byte[] derive(Key key, String purpose) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key.getEncoded(), "HmacSHA256"));
+            return mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Nu pot deriva cheia pentru token-urile fluxului de comenzi", e);
+        }
+    }
+}
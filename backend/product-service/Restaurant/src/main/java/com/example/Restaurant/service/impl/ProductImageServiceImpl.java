@@ -0,0 +1,282 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.catalog.CatalogChangeNotifier;
+import com.example.Restaurant.mapper.ProductMapper;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.service.ProductImageService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generează în fundal variantele redimensionate ale imaginii unui produs (miniatură, card, mare),
+ * ca meniul să nu mai descarce originalul la fiecare afișare. Variantele sunt JPEG-uri scrise lângă original.
+ */
+@Service
+public class ProductImageServiceImpl implements ProductImageService {
+
+    // Ordonate descrescător: fiecare variantă se obține din cea anterioară, nu din original
+    enum Variant {
+        FULL("full", 1200),
+        CARD("card", 480),
+        THUMB("thumb", 160);
+
+        final String suffix;
+        final int maxWidth;
+
+        Variant(String suffix, int maxWidth) {
+            this.suffix = suffix;
+            this.maxWidth = maxWidth;
+        }
+    }
+
+    private final ProductRepository productRepository;
+    private final CatalogChangeNotifier catalogChangeNotifier;
+    private final TransactionTemplate transactionTemplate;
+    private final Path uploadDir;
+    private final float jpegQuality;
+    private final long maxPixels;
+    private final ThreadPoolExecutor workers;
+
+    public ProductImageServiceImpl(ProductRepository productRepository,
+                                   CatalogChangeNotifier catalogChangeNotifier,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${product.images.upload-dir:/tmp/uploads/product-images/}") String uploadDir,
+                                   @Value("${product.images.jpeg-quality:0.82}") float jpegQuality,
+                                   @Value("${product.images.worker-threads:1}") int workerThreads,
+                                   @Value("${product.images.queue-capacity:100}") int queueCapacity,
+                                   @Value("${product.images.max-pixels:50000000}") long maxPixels) {
+        this.productRepository = productRepository;
+        this.catalogChangeNotifier = catalogChangeNotifier;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.uploadDir = Paths.get(uploadDir);
+        this.jpegQuality = Math.max(0.1f, Math.min(jpegQuality, 1f));
+        this.maxPixels = maxPixels;
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, workerThreads);
+        // coadă mărginită: o rafală de upload-uri nu poate umple memoria cu imagini decodate
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+            Thread thread = new Thread(runnable, "product-image-variants-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @Override
+    public void generateVariants(Long productId, String imageFileName) {
+        // fișierul și produsul sunt vizibile pentru firul de fundal abia după commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(productId, imageFileName);
+                }
+            });
+        } else {
+            submit(productId, imageFileName);
+        }
+    }
+
+    @Override
+    public void deleteVariants(String imageFileName) {
+        for (Variant variant : Variant.values()) {
+            try {
+                Files.deleteIfExists(uploadDir.resolve(variantFileName(imageFileName, variant)));
+            } catch (IOException e) {
+                System.err.println("### Eroare la ștergerea variantei " + variant.suffix + " pentru " + imageFileName + ": " + e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void submit(Long productId, String imageFileName) {
+        try {
+            workers.execute(() -> process(productId, imageFileName));
+        } catch (RejectedExecutionException e) {
+            // produsul rămâne cu originalul; variantele pot fi regenerate la următorul upload
+            System.err.println("### Coada de procesare a imaginilor este plină, variante negenerate pentru produsul " + productId);
+        }
+    }
+
+    void process(Long productId, String imageFileName) {
+        Map<Variant, String> variants;
+        try {
+            variants = writeVariants(imageFileName);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("### Eroare la generarea variantelor pentru imaginea " + imageFileName + ": " + e.getMessage());
+            return;
+        }
+        if (variants.isEmpty()) {
+            return;
+        }
+
+        boolean stored = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Product product = productRepository.findById(productId).orElse(null);
+            // între timp imaginea a fost înlocuită sau ștearsă: variantele nu mai aparțin produsului
+            if (product == null || !imageFileName.equals(product.getImageUrl())) {
+                return false;
+            }
+            product.setImageThumbUrl(variants.get(Variant.THUMB));
+            product.setImageCardUrl(variants.get(Variant.CARD));
+            product.setImageFullUrl(variants.get(Variant.FULL));
+            Product saved = productRepository.save(product);
+            catalogChangeNotifier.productSaved(ProductMapper.toDetailDTO(saved));
+            return true;
+        }));
+        // aceeași imagine poate fi folosită și de alte produse: variantele rămân cât timp există originalul
+        if (!stored && !Files.exists(uploadDir.resolve(imageFileName))) {
+            deleteVariants(imageFileName);
+        }
+    }
+
+    Map<Variant, String> writeVariants(String imageFileName) throws IOException {
+        // numele originalului derivă din conținut: dacă variantele există, au fost generate pentru aceeași imagine
+        Map<Variant, String> existing = new EnumMap<>(Variant.class);
+        for (Variant variant : Variant.values()) {
+            String fileName = variantFileName(imageFileName, variant);
+            if (Files.exists(uploadDir.resolve(fileName))) {
+                existing.put(variant, fileName);
+            }
+        }
+        if (existing.size() == Variant.values().length) {
+            return existing;
+        }
+
+        BufferedImage current = readOriginal(uploadDir.resolve(imageFileName));
+        if (current == null) {
+            System.err.println("### Format de imagine necunoscut, variante negenerate: " + imageFileName);
+            return Map.of();
+        }
+
+        Map<Variant, String> variants = new EnumMap<>(Variant.class);
+        for (Variant variant : Variant.values()) {
+            current = downscale(current, variant.maxWidth);
+            String fileName = variantFileName(imageFileName, variant);
+            writeJpeg(current, uploadDir.resolve(fileName));
+            variants.put(variant, fileName);
+        }
+        return variants;
+    }
+
+    /**
+     * Citește întâi doar antetul: câțiva KB de PNG pot declara 30000x30000 pixeli, adică gigaocteți decodați.
+     * Peste {@code product.images.max-pixels} imaginea este refuzată. Altfel decodorul sare peste rânduri și coloane,
+     * ca o fotografie mare să ajungă în memorie la cel mult de două ori lățimea variantei mari; înjumătățirile
+     * din {@link #downscale} netezesc apoi rezultatul.
+     */
+    BufferedImage readOriginal(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("imagine prea mare (" + width + "x" + height + " pixeli)");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, width / (2 * Variant.FULL.maxWidth));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static String variantFileName(String imageFileName, Variant variant) {
+        int dot = imageFileName.lastIndexOf('.');
+        String base = dot > 0 ? imageFileName.substring(0, dot) : imageFileName;
+        return base + "-" + variant.suffix + ".jpg";
+    }
+
+    /**
+     * Micșorează imaginea prin înjumătățiri succesive cu interpolare biliniară; un singur pas mare
+     * pierde detalii, iar getScaledInstance este de câteva ori mai lent. Imaginile mai mici nu sunt mărite.
+     * Rezultatul este mereu RGB pe fundal alb, pentru că JPEG nu are transparență.
+     */
+    static BufferedImage downscale(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * (double) targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            graphics.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        // progresiv: pe rețele lente imaginea apare întâi neclară, apoi se rafinează
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        // scriem într-un fișier temporar și îl mutăm, ca nimeni să nu servească o variantă pe jumătate scrisă
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
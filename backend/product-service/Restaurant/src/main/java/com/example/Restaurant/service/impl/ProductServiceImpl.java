@@ -1,7 +1,11 @@
 package com.example.Restaurant.service.impl;
 
+import com.example.Restaurant.audit.AuditOutbox;
+import com.example.Restaurant.catalog.CatalogChangeNotifier;
 import com.example.Restaurant.dto.ProductDTO;
 import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.dto.ProductFilterRequest;
+import com.example.Restaurant.dto.ProductPageDTO;
 import com.example.Restaurant.mapper.ProductMapper;
 import com.example.Restaurant.model.Category;
 import com.example.Restaurant.model.Ingredient;
@@ -9,19 +13,25 @@ import com.example.Restaurant.model.Product;
 import com.example.Restaurant.repository.CategoryRepository;
 import com.example.Restaurant.repository.IngredientRepository;
 import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.repository.projection.ProductRow;
+import com.example.Restaurant.search.IngredientBitsetIndex;
+import com.example.Restaurant.search.MenuSearchIndex;
+import com.example.Restaurant.service.MenuSnapshotService;
+import com.example.Restaurant.service.ProductImageService;
 import com.example.Restaurant.service.ProductService;
+import com.example.commons.storage.ContentAddressedStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Set;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,14 +41,21 @@ public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final IngredientRepository ingredientRepository;
-
-    private final String uploadDir = "/tmp/uploads/product-images/";
+    private final CatalogChangeNotifier catalogChangeNotifier;
+    private final MenuSearchIndex menuSearchIndex;
+    private final IngredientBitsetIndex ingredientBitsetIndex;
+    private final MenuSnapshotService menuSnapshotService;
+    private final AuditOutbox auditOutbox;
+    private final ProductImageService productImageService;
+    private final ContentAddressedStore productImageStore;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Override
     public List<ProductDTO> findAll() {
-        return productRepository.findAll().stream()
-                .map(ProductMapper::toDTO)
-                .collect(Collectors.toList());
+        return ProductMapper.toDTOList(productRepository.findAllRows(), productRepository.findAllIngredientLinks());
     }
 
     @Override
@@ -48,6 +65,36 @@ public class ProductServiceImpl implements ProductService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public ProductPageDTO findPage(ProductFilterRequest filter) {
+        int size = filter.getSize() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(filter.getSize(), MAX_PAGE_SIZE));
+
+        // cerem un rând în plus ca să știm dacă mai există o pagină
+        List<ProductRow> rows = productRepository.findPage(filter, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        if (rows.isEmpty()) {
+            return ProductPageDTO.builder().items(List.of()).hasMore(false).build();
+        }
+
+        List<Long> ids = rows.stream().map(ProductRow::getId).collect(Collectors.toList());
+        List<ProductDTO> items = ProductMapper.toDTOList(rows, productRepository.findIngredientLinksByProductIds(ids));
+        ProductRow last = rows.get(rows.size() - 1);
+
+        return ProductPageDTO.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextAfterCategoryId(hasMore ? cursorCategoryKey(last) : null)
+                .nextAfterId(hasMore ? last.getId() : null)
+                .build();
+    }
+
+    private static Long cursorCategoryKey(ProductRow row) {
+        return row.getCategoryId() != null ? row.getCategoryId() : ProductRepository.NO_CATEGORY_KEY;
+    }
+
     @Override
     public ProductDTO findById(Long id) {
         Product product = productRepository.findById(id)
@@ -56,6 +103,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public ProductDTO create(ProductDTO dto) {
         Category category = categoryRepository.findById(dto.getCategoryId())
                 .orElseThrow(() -> new RuntimeException("Category not found"));
@@ -66,11 +114,15 @@ public class ProductServiceImpl implements ProductService {
         Product product = ProductMapper.toEntity(dto, category, ingredients);
 
         Product saved = productRepository.save(product);
+        catalogChangeNotifier.productSaved(ProductMapper.toDetailDTO(saved));
+        audit("CREATE", String.format("Utilizatorul '%s' a creat un produs nou: '%s' (ID: %d).",
+                auditOutbox.currentActor(), saved.getName(), saved.getId()));
 
         return ProductMapper.toDTO(saved);
     }
 
     @Override
+    @Transactional
     public ProductDTO update(Long id, ProductDTO dto) {
         Product existing = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -86,79 +138,165 @@ public class ProductServiceImpl implements ProductService {
         existing.setPrice(dto.getPrice());
         existing.setCategory(category);
         existing.setIngredients(ingredients);
-        existing.setImageUrl(dto.getImageUrl());
+        // imageUrl din DTO este ignorat: imaginea se schimbă doar prin upload/ștergere, care țin contorul de referințe
 
-        return ProductMapper.toDTO(productRepository.save(existing));
+        Product saved = productRepository.save(existing);
+        catalogChangeNotifier.productSaved(ProductMapper.toDetailDTO(saved));
+        audit("UPDATE", String.format("Utilizatorul '%s' a actualizat Produsul '%s' (ID: %d).",
+                auditOutbox.currentActor(), saved.getName(), saved.getId()));
+        return ProductMapper.toDTO(saved);
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         if (product.getImageUrl() != null && !product.getImageUrl().isEmpty()) {
-            try {
-                Path imagePath = Paths.get(uploadDir).resolve(product.getImageUrl());
-                Files.deleteIfExists(imagePath);
-            } catch (IOException e) {
-                System.err.println("Could not delete image file: " + product.getImageUrl() + " " + e.getMessage());
-            }
+            releaseImageAfterCommit(product.getImageUrl());
         }
 
         productRepository.deleteById(id);
+        catalogChangeNotifier.productDeleted(id);
+        audit("DELETE", String.format("Utilizatorul '%s' a șters Produsul '%s' (ID: %d).",
+                auditOutbox.currentActor(), product.getName(), id));
+    }
+
+    @Override
+    public List<ProductDetailDTO> search(String query, int limit) {
+        return menuSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    }
+
+    @Override
+    public List<ProductDTO> findWithoutIngredients(Long categoryId, List<Long> excludedIngredientIds) {
+        Set<Long> ids = ingredientBitsetIndex.findProductIds(categoryId, null, excludedIngredientIds);
+        return menuSnapshotService.getSnapshot().getProductSummaries().stream()
+                .filter(product -> ids.contains(product.getId()))
+                .collect(Collectors.toList());
     }
 
     @Override
     public boolean isIngredientUsed(Long ingredientId) {
-        return productRepository.existsByIngredients_Id(ingredientId);
+        return ingredientBitsetIndex.isIngredientUsed(ingredientId);
     }
 
     @Override
     public ProductDTO uploadProductImage(Long productId, MultipartFile imageFile) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-
         if (imageFile.isEmpty()) {
             throw new RuntimeException("Cannot upload empty file");
         }
+        try (InputStream content = imageFile.getInputStream()) {
+            return uploadImage(productId, content, imageFile.getSize(), imageFile.getOriginalFilename());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store image file", e);
+        }
+    }
 
-        try {
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
+    @Override
+    public ProductDTO uploadProductImage(Long productId, InputStream content, long contentLength) {
+        return uploadImage(productId, content, contentLength, null);
+    }
 
-            String fileName = UUID.randomUUID().toString() + "_" + imageFile.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
+    private ProductDTO uploadImage(Long productId, InputStream content, long contentLength, String originalFileName) {
+        productImageStore.checkDeclaredLength(contentLength);
+        if (!productRepository.existsById(productId)) {
+            throw new RuntimeException("Product not found");
+        }
 
-            Files.copy(imageFile.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        // corpul cererii este citit fără tranzacție: un client lent nu ține ocupată o conexiune la baza de date
+        String fileName;
+        try {
+            fileName = productImageStore.store(content);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store image file", e);
+        }
 
-            product.setImageUrl(fileName);
-            Product updatedProduct = productRepository.save(product);
+        try {
+            return transactionTemplate.execute(status -> attachImage(productId, fileName, originalFileName));
+        } catch (RuntimeException e) {
+            releaseImageQuietly(fileName);
+            throw e;
+        }
+    }
 
-            return ProductMapper.toDTO(updatedProduct);
+    private ProductDTO attachImage(Long productId, String fileName, String originalFileName) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to store image file", e);
+        // imaginea veche pierde o referință; fișierul dispare doar dacă nu mai e folosit de alt produs
+        String previousImage = product.getImageUrl();
+        if (previousImage != null && !previousImage.isEmpty()) {
+            releaseImageAfterCommit(previousImage);
         }
+
+        product.setImageUrl(fileName);
+        clearImageVariants(product);
+        Product updatedProduct = productRepository.save(product);
+        catalogChangeNotifier.productSaved(ProductMapper.toDetailDTO(updatedProduct));
+        productImageService.generateVariants(updatedProduct.getId(), fileName);
+        audit("UPLOAD_IMAGE", String.format("Utilizatorul '%s' a încărcat o imagine pentru Produsul '%s' (ID: %d). Nume fișier: %s",
+                auditOutbox.currentActor(), updatedProduct.getName(), updatedProduct.getId(),
+                originalFileName != null ? originalFileName : fileName));
+
+        return ProductMapper.toDTO(updatedProduct);
     }
 
     @Override
+    @Transactional
     public void deleteProductImage(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         if (product.getImageUrl() != null && !product.getImageUrl().isEmpty()) {
-            try {
-                Path imagePath = Paths.get(uploadDir).resolve(product.getImageUrl());
-                Files.deleteIfExists(imagePath);
-                product.setImageUrl(null);
-                productRepository.save(product);
-            } catch (IOException e) {
-                throw new RuntimeException("Could not delete image file: " + product.getImageUrl(), e);
-            }
+            releaseImageAfterCommit(product.getImageUrl());
+            product.setImageUrl(null);
+            clearImageVariants(product);
+            Product saved = productRepository.save(product);
+            catalogChangeNotifier.productSaved(ProductMapper.toDetailDTO(saved));
+        }
+        audit("DELETE_IMAGE", String.format("Utilizatorul '%s' a șters imaginea pentru Produsul '%s' (ID: %d).",
+                auditOutbox.currentActor(), product.getName(), productId));
+    }
+
+    private void releaseImage(String fileName) throws IOException {
+        if (productImageStore.release(fileName)) {
+            productImageService.deleteVariants(fileName);
+        }
+    }
+
+    /**
+     * Referința (și, dacă era ultima, fișierul cu variantele lui) dispare abia după commit:
+     * la rollback produsul încă arată spre imagine, deci fișierul trebuie să existe.
+     */
+    private void releaseImageAfterCommit(String fileName) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseImageQuietly(fileName);
+                }
+            });
+        } else {
+            releaseImageQuietly(fileName);
         }
     }
 
+    private void releaseImageQuietly(String fileName) {
+        try {
+            releaseImage(fileName);
+        } catch (IOException e) {
+            System.err.println("Could not delete image file: " + fileName + " " + e.getMessage());
+        }
+    }
 
-}
\ No newline at end of file
+    private void clearImageVariants(Product product) {
+        product.setImageThumbUrl(null);
+        product.setImageCardUrl(null);
+        product.setImageFullUrl(null);
+    }
+
+    private void audit(String operationType, String message) {
+        auditOutbox.record(AuditOutbox.ROUTING_KEY_PRODUCT, "PRODUCT", operationType, message);
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.dto.DailySalesDTO;
+import com.example.Restaurant.dto.ItemSalesDTO;
+import com.example.Restaurant.dto.SalesStatsDTO;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Order;
+import com.example.Restaurant.model.OrderItem;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.model.SalesDimension;
+import com.example.Restaurant.model.SalesRollup;
+import com.example.Restaurant.model.SalesRollupId;
+import com.example.Restaurant.repository.CategoryRepository;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.repository.SalesRollupRepository;
+import com.example.Restaurant.service.SalesStatsService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Agregatele de vânzări sunt actualizate la fiecare comandă, nu recalculate din istoric.
+ * Modificările se adună întâi în memorie (ConcurrentHashMap blochează doar cheia atinsă)
+ * și sunt scrise periodic în sales_rollup prin incrementări atomice.
+ * <p>
+ * Un flush scoate modificările din memorie înainte ca tranzacția lui să fie confirmată; cât timp durează,
+ * ele nu sunt nici în memorie, nici vizibile în tabelă. De aceea flush-ul (golire + commit) și citirea
+ * statisticilor (tabelă + memorie) se exclud printr-un lacăt citire/scriere. Comenzile noi nu îl folosesc.
+ */
+@Service
+public class SalesStatsServiceImpl implements SalesStatsService {
+
+    private static final long DAY_TOTAL_ID = 0L;
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<SalesRollupId, Delta> pending = new ConcurrentHashMap<>();
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public SalesStatsServiceImpl(SalesRollupRepository salesRollupRepository,
+                                 ProductRepository productRepository,
+                                 CategoryRepository categoryRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void recordOrderCreated(Order order) {
+        record(deltas(order, 1));
+    }
+
+    @Override
+    public void recordOrderDeleted(Order order) {
+        record(deltas(order, -1));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${orders.stats.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            Map<SalesRollupId, Delta> drained = new HashMap<>();
+            for (SalesRollupId id : pending.keySet()) {
+                pending.computeIfPresent(id, (key, delta) -> {
+                    drained.put(key, delta);
+                    return null;
+                });
+            }
+            if (drained.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> drained.forEach(this::write));
+            } catch (Exception e) {
+                // nu pierdem nimic: modificările revin în memorie și sunt reîncercate la următorul flush
+                System.err.println("### Eroare la scrierea statisticilor de vânzări: " + e.getMessage());
+                merge(drained);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Comenzile plasate înainte de existența tabelei sunt agregate o singură dată, la pornire
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (salesRollupRepository.count() > 0) {
+                    return;
+                }
+                List<SalesRollup> rows = new ArrayList<>();
+                addRollups(rows, SalesDimension.DAY, salesRollupRepository.aggregateByDay());
+                addRollups(rows, SalesDimension.PRODUCT, salesRollupRepository.aggregateByDayAndProduct());
+                addRollups(rows, SalesDimension.CATEGORY, salesRollupRepository.aggregateByDayAndCategory());
+                salesRollupRepository.saveAll(rows);
+            });
+        } catch (Exception e) {
+            System.err.println("### Eroare la reconstruirea statisticilor de vânzări: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public SalesStatsDTO getStats(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+
+        // rândurile din baza de date plus ce nu a fost încă scris din memorie, fără un flush la jumătate între ele
+        Map<SalesRollupId, Delta> totals = new HashMap<>();
+        flushLock.readLock().lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (SalesDimension dimension : SalesDimension.values()) {
+                    for (SalesRollup row : salesRollupRepository.findByDimensionBetween(dimension, start, end)) {
+                        totals.put(row.getId(), new Delta(row.getRevenue(), row.getQuantity(), row.getOrderCount()));
+                    }
+                }
+            });
+            for (SalesRollupId id : pending.keySet()) {
+                if (!id.getDay().isBefore(start) && !id.getDay().isAfter(end)) {
+                    pending.computeIfPresent(id, (key, delta) -> {
+                        totals.computeIfAbsent(key, k -> new Delta()).add(delta);
+                        return delta;
+                    });
+                }
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+
+        Map<LocalDate, Delta> days = new TreeMap<>();
+        Map<Long, Delta> products = new HashMap<>();
+        Map<Long, Delta> categories = new HashMap<>();
+        totals.forEach((id, delta) -> {
+            switch (id.getDimension()) {
+                case DAY -> days.computeIfAbsent(id.getDay(), d -> new Delta()).add(delta);
+                case PRODUCT -> products.computeIfAbsent(id.getDimensionId(), d -> new Delta()).add(delta);
+                case CATEGORY -> categories.computeIfAbsent(id.getDimensionId(), d -> new Delta()).add(delta);
+            }
+        });
+
+        Delta total = new Delta();
+        List<DailySalesDTO> dailySales = new ArrayList<>();
+        days.forEach((day, delta) -> {
+            total.add(delta);
+            dailySales.add(DailySalesDTO.builder()
+                    .day(day)
+                    .revenue(delta.revenue)
+                    .quantity(delta.quantity)
+                    .orderCount(delta.orderCount)
+                    .build());
+        });
+
+        Map<Long, String> productNames = productRepository.findAllById(products.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Product::getName));
+        Map<Long, String> categoryNames = categoryRepository.findAllById(categories.keySet()).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+
+        return SalesStatsDTO.builder()
+                .from(start)
+                .to(end)
+                .totalRevenue(total.revenue)
+                .totalQuantity(total.quantity)
+                .totalOrders(total.orderCount)
+                .days(dailySales)
+                .products(toItemSales(products, productNames::get))
+                .categories(toItemSales(categories, categoryNames::get))
+                .build();
+    }
+
+    private void record(Map<SalesRollupId, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // contează doar comenzile confirmate; un rollback nu trebuie să atingă statisticile
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    merge(deltas);
+                }
+            });
+        } else {
+            merge(deltas);
+        }
+    }
+
+    private void merge(Map<SalesRollupId, Delta> deltas) {
+        deltas.forEach((id, delta) -> pending.compute(id, (key, current) -> {
+            Delta result = current != null ? current : new Delta();
+            result.add(delta);
+            return result;
+        }));
+    }
+
+    private void write(SalesRollupId id, Delta delta) {
+        if (salesRollupRepository.increment(id, delta.revenue, delta.quantity, delta.orderCount) == 0) {
+            salesRollupRepository.save(SalesRollup.builder()
+                    .id(id)
+                    .revenue(delta.revenue)
+                    .quantity(delta.quantity)
+                    .orderCount(delta.orderCount)
+                    .build());
+        }
+    }
+
+    private static Map<SalesRollupId, Delta> deltas(Order order, int sign) {
+        Map<SalesRollupId, Delta> deltas = new HashMap<>();
+        if (order.getOrderDate() == null || order.getOrderItems() == null) {
+            return deltas;
+        }
+        LocalDate day = order.getOrderDate().toLocalDate();
+
+        for (OrderItem item : order.getOrderItems()) {
+            BigDecimal revenue = item.getPriceAtOrder().multiply(BigDecimal.valueOf(item.getQuantity()));
+            Delta line = new Delta(revenue, item.getQuantity(), 0);
+
+            deltas.computeIfAbsent(new SalesRollupId(day, SalesDimension.DAY, DAY_TOTAL_ID), k -> new Delta()).add(line);
+            Product product = item.getProduct();
+            deltas.computeIfAbsent(new SalesRollupId(day, SalesDimension.PRODUCT, product.getId()), k -> new Delta()).add(line);
+            if (product.getCategory() != null) {
+                deltas.computeIfAbsent(new SalesRollupId(day, SalesDimension.CATEGORY, product.getCategory().getId()), k -> new Delta()).add(line);
+            }
+        }
+
+        // o comandă se numără o singură dată pe fiecare rând atins, indiferent de câte linii are
+        for (Delta delta : deltas.values()) {
+            delta.orderCount = 1;
+            if (sign < 0) {
+                delta.revenue = delta.revenue.negate();
+                delta.quantity = -delta.quantity;
+                delta.orderCount = -1;
+            }
+        }
+        return deltas;
+    }
+
+    private static void addRollups(List<SalesRollup> rows, SalesDimension dimension, List<Object[]> aggregates) {
+        for (Object[] aggregate : aggregates) {
+            rows.add(SalesRollup.builder()
+                    .id(new SalesRollupId((LocalDate) aggregate[0], dimension, ((Number) aggregate[1]).longValue()))
+                    .revenue((BigDecimal) aggregate[2])
+                    .quantity(((Number) aggregate[3]).longValue())
+                    .orderCount(((Number) aggregate[4]).longValue())
+                    .build());
+        }
+    }
+
+    private static List<ItemSalesDTO> toItemSales(Map<Long, Delta> sales, Function<Long, String> names) {
+        return sales.entrySet().stream()
+                .map(entry -> ItemSalesDTO.builder()
+                        .id(entry.getKey())
+                        .name(names.apply(entry.getKey()))
+                        .revenue(entry.getValue().revenue)
+                        .quantity(entry.getValue().quantity)
+                        .orderCount(entry.getValue().orderCount)
+                        .build())
+                .sorted(Comparator.comparing(ItemSalesDTO::getRevenue).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static final class Delta {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long quantity;
+        private long orderCount;
+
+        private Delta() {
+        }
+
+        private Delta(BigDecimal revenue, long quantity, long orderCount) {
+            this.revenue = revenue;
+            this.quantity = quantity;
+            this.orderCount = orderCount;
+        }
+
+        private void add(Delta other) {
+            revenue = revenue.add(other.revenue);
+            quantity += other.quantity;
+            orderCount += other.orderCount;
+        }
+    }
+}
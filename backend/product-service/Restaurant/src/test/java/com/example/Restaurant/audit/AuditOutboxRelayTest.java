@@ -0,0 +1,127 @@
+package com.example.Restaurant.audit;
+
+import com.example.Restaurant.repository.AuditOutboxRepository;
+import com.example.commons.audit.AuditLogPublisher;
+import com.example.commons.events.LogEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rulează fără tranzacția de test, ca rândurile din outbox să fie confirmate sau anulate ca în producție.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "audit.outbox.batch-size=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AuditOutbox.class, AuditOutboxRelay.class})
+class AuditOutboxRelayTest {
+
+    @Autowired
+    private AuditOutbox auditOutbox;
+
+    @Autowired
+    private AuditOutboxRelay auditOutboxRelay;
+
+    @Autowired
+    private AuditOutboxRepository auditOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private RabbitTemplate rabbitTemplate;
+
+    @MockBean
+    private AuditActorProvider auditActorProvider;
+
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        auditOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void whenTransactionRollsBack_thenItsLogIsDiscardedToo() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                auditOutbox.record(AuditOutbox.ROUTING_KEY_ORDER, "ORDER", "CREATE", "anulată");
+                throw new IllegalStateException("rollback");
+            });
+        } catch (IllegalStateException ignored) {
+            // așteptat
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                auditOutbox.record(AuditOutbox.ROUTING_KEY_ORDER, "ORDER", "CREATE", "confirmată"));
+
+        assertThat(auditOutboxRepository.findAll()).extracting("message").containsExactly("confirmată");
+        // fără tranzacție nu există modificare de descris
+        assertThatThrownBy(() -> auditOutbox.record(AuditOutbox.ROUTING_KEY_ORDER, "ORDER", "CREATE", "orfană"))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenRelaying_thenEventsArePublishedInOrderAndDeletedAfterConfirm() {
+        for (int i = 0; i < 5; i++) {
+            String message = "Eveniment " + i;
+            transactionTemplate.executeWithoutResult(status ->
+                    auditOutbox.record(AuditOutbox.ROUTING_KEY_PRODUCT, "PRODUCT", "UPDATE", message));
+        }
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(operations));
+
+        auditOutboxRelay.relay();
+
+        // 5 rânduri în loturi de câte 2: trei publicări, fiecare cu o singură așteptare de confirmare
+        verify(rabbitTemplate, times(3)).invoke(any(RabbitOperations.OperationsCallback.class));
+        verify(operations, times(3)).waitForConfirmsOrDie(any(Long.class));
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(operations, times(5)).convertAndSend(eq(AuditLogPublisher.EXCHANGE_NAME), eq(AuditOutbox.ROUTING_KEY_PRODUCT), events.capture());
+        assertThat(events.getAllValues()).extracting(event -> ((LogEvent) event).getMessage())
+                .containsExactly("Eveniment 0", "Eveniment 1", "Eveniment 2", "Eveniment 3", "Eveniment 4");
+        assertThat(auditOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    void whenBrokerIsDown_thenRowsStayForTheNextRun() {
+        transactionTemplate.executeWithoutResult(status ->
+                auditOutbox.record(AuditOutbox.ROUTING_KEY_ORDER, "ORDER", "DELETE", "Comanda 7 ștearsă"));
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class)))
+                .thenThrow(new AmqpException("broker indisponibil"));
+
+        auditOutboxRelay.relay();
+
+        assertThat(auditOutboxRepository.count()).isEqualTo(1);
+    }
+}
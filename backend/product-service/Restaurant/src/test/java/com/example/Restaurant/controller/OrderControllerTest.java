@@ -0,0 +1,68 @@
+package com.example.Restaurant.controller;
+
+import com.example.Restaurant.service.OrderExportService;
+import com.example.Restaurant.service.OrderService;
+import com.example.Restaurant.service.OrderStreamService;
+import com.example.Restaurant.service.OrderStreamTokenService;
+import com.example.Restaurant.service.SalesStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+    private static final String ORDER = "{\"customerName\":\"Ion Popescu\",\"customerAddress\":\"Str. Lalelelor 3\"," +
+            "\"items\":[{\"productId\":1,\"quantity\":2}]}";
+
+    @Mock
+    private OrderService orderService;
+    @Mock
+    private OrderExportService orderExportService;
+    @Mock
+    private SalesStatsService salesStatsService;
+    @Mock
+    private OrderStreamService orderStreamService;
+    @Mock
+    private OrderStreamTokenService orderStreamTokenService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new OrderController(orderService, orderExportService, salesStatsService, orderStreamService,
+                        orderStreamTokenService, 2)).build();
+    }
+
+    @Test
+    void whenBatchIsOverMaxSize_thenRejectedWith413BeforeReachingService() throws Exception {
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + ORDER + "," + ORDER + "," + ORDER + "]"))
+                .andExpect(status().isPayloadTooLarge());
+
+        verifyNoInteractions(orderService);
+    }
+
+    @Test
+    void whenBatchIsWithinMaxSize_thenPassedToService() throws Exception {
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + ORDER + "," + ORDER + "]"))
+                .andExpect(status().isOk());
+
+        verify(orderService).createOrders(any());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.Restaurant.controller;
+
+import com.example.Restaurant.config.SecurityConfig;
+import com.example.Restaurant.service.OrderExportService;
+import com.example.Restaurant.service.OrderService;
+import com.example.Restaurant.service.OrderStreamService;
+import com.example.Restaurant.service.SalesStatsService;
+import com.example.Restaurant.service.impl.OrderStreamTokenServiceImpl;
+import com.example.commons.config.CommonsJwtAutoConfiguration;
+import com.example.commons.security.JwtVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fluxul SSE cu lanțul de securitate real: EventSource nu poate trimite Authorization, deci intră cu token-ul scurt din URL.
+ */
+@WebMvcTest(OrderController.class)
+@Import({SecurityConfig.class, OrderStreamTokenServiceImpl.class})
+@ImportAutoConfiguration(CommonsJwtAutoConfiguration.class)
+class OrderStreamSecurityTest {
+
+    private static final String ADMIN_ORIGIN = "https://adminapp-two.vercel.app";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private OrderService orderService;
+    @MockBean
+    private OrderExportService orderExportService;
+    @MockBean
+    private SalesStatsService salesStatsService;
+    @MockBean
+    private OrderStreamService orderStreamService;
+
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() {
+        long now = System.currentTimeMillis();
+        accessToken = Jwts.builder()
+                .setSubject("7")
+                .claim("name", "Ana Pop")
+                .claim("email", "ana@restaurant.ro")
+                .claim("roles", List.of("ADMIN"))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60_000))
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+        when(orderStreamService.subscribe(any())).thenReturn(new SseEmitter());
+    }
+
+    @Test
+    void whenStreamIsOpenedWithoutToken_thenItIsRejected() throws Exception {
+        mockMvc.perform(get("/api/orders/stream"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(orderStreamService);
+    }
+
+    @Test
+    void whenStreamTokenIsInQueryString_thenEventSourceCanConnectAndResume() throws Exception {
+        String streamToken = streamToken();
+
+        mockMvc.perform(get("/api/orders/stream")
+                        .param("access_token", streamToken)
+                        .header("Last-Event-ID", "42"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(orderStreamService).subscribe("42");
+    }
+
+    @Test
+    void whenLongLivedTokenIsInQueryString_thenItIsNotAccepted() throws Exception {
+        mockMvc.perform(get("/api/orders/stream").param("access_token", accessToken))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(orderStreamService);
+    }
+
+    @Test
+    void whenStreamTokenIsUsedAsBearer_thenSharedVerifierRejectsIt() throws Exception {
+        String streamToken = streamToken();
+
+        assertThatThrownBy(() -> jwtVerifier.verify(streamToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void whenPreflightAsksForLastEventId_thenVercelOriginIsAllowed() throws Exception {
+        mockMvc.perform(options("/api/orders/stream")
+                        .header(HttpHeaders.ORIGIN, ADMIN_ORIGIN)
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "last-event-id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, ADMIN_ORIGIN))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, "last-event-id"));
+    }
+
+    private String streamToken() throws Exception {
+        String body = mockMvc.perform(post("/api/orders/stream/token")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("token").asText();
+        assertThat(token).isNotBlank().isNotEqualTo(accessToken);
+        return token;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.Restaurant.repository;
+
+import com.example.Restaurant.dto.ProductFilterRequest;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Ingredient;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.projection.ProductRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ProductRepositoryImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Category pizza;
+    private Category salads;
+    private Ingredient cheese;
+    private Ingredient nuts;
+    private Product margherita;
+    private Product quattroFormaggi;
+    private Product caesar;
+    private Product waldorf;
+    private Product dailySpecial;
+
+    @BeforeEach
+    void setUp() {
+        pizza = entityManager.persist(Category.builder().name("Pizza").build());
+        salads = entityManager.persist(Category.builder().name("Salate").build());
+        cheese = entityManager.persist(Ingredient.builder().name("Brânză").build());
+        nuts = entityManager.persist(Ingredient.builder().name("Nuci").build());
+
+        margherita = persist("Margherita", "30.00", pizza, Set.of(cheese));
+        quattroFormaggi = persist("Quattro Formaggi", "42.00", pizza, Set.of(cheese, nuts));
+        caesar = persist("Caesar", "28.00", salads, Set.of(cheese));
+        waldorf = persist("Waldorf", "31.00", salads, Set.of(nuts));
+        dailySpecial = persist("Meniul zilei", "25.00", null, Set.of(cheese));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenExcludingIngredientInCategory_thenOnlyMatchingProductsReturned() {
+        ProductFilterRequest filter = ProductFilterRequest.builder()
+                .categoryId(pizza.getId())
+                .excludeIngredients(List.of(nuts.getId()))
+                .build();
+
+        List<ProductRow> rows = productRepository.findPage(filter, 10);
+
+        assertThat(rows).extracting(ProductRow::getId).containsExactly(margherita.getId());
+    }
+
+    @Test
+    void whenIncludingIngredientsAndPriceRange_thenAllIngredientsMustMatch() {
+        ProductFilterRequest filter = ProductFilterRequest.builder()
+                .includeIngredients(List.of(cheese.getId(), nuts.getId()))
+                .minPrice(new BigDecimal("40.00"))
+                .build();
+
+        List<ProductRow> rows = productRepository.findPage(filter, 10);
+
+        assertThat(rows).extracting(ProductRow::getId).containsExactly(quattroFormaggi.getId());
+    }
+
+    @Test
+    void whenPagingWithCursor_thenEveryProductIsVisitedOnceInKeyOrder() {
+        List<Long> visited = new ArrayList<>();
+        ProductFilterRequest filter = new ProductFilterRequest();
+        List<ProductRow> page = productRepository.findPage(filter, 3);
+        while (!page.isEmpty()) {
+            page.forEach(row -> visited.add(row.getId()));
+            ProductRow last = page.get(page.size() - 1);
+            filter.setAfterCategoryId(last.getCategoryId() != null ? last.getCategoryId() : ProductRepository.NO_CATEGORY_KEY);
+            filter.setAfterId(last.getId());
+            page = productRepository.findPage(filter, 3);
+        }
+
+        // produsele fără categorie vin primele, ca în GET /api/products, nu sunt omise
+        assertThat(visited).containsExactly(dailySpecial.getId(),
+                margherita.getId(), quattroFormaggi.getId(), caesar.getId(), waldorf.getId());
+    }
+
+    @Test
+    void whenCursorIsOnProductWithoutCategory_thenNextPageContinuesAfterIt() {
+        ProductFilterRequest filter = ProductFilterRequest.builder()
+                .afterCategoryId(ProductRepository.NO_CATEGORY_KEY)
+                .afterId(dailySpecial.getId())
+                .build();
+
+        List<ProductRow> rows = productRepository.findPage(filter, 10);
+
+        assertThat(rows).extracting(ProductRow::getId)
+                .containsExactly(margherita.getId(), quattroFormaggi.getId(), caesar.getId(), waldorf.getId());
+    }
+
+    private Product persist(String name, String price, Category category, Set<Ingredient> ingredients) {
+        return entityManager.persist(Product.builder()
+                .name(name)
+                .price(new BigDecimal(price))
+                .category(category)
+                .ingredients(ingredients)
+                .build());
+    }
+}
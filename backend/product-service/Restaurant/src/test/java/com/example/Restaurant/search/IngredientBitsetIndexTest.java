@@ -0,0 +1,99 @@
+package com.example.Restaurant.search;
+
+import com.example.Restaurant.dto.CategoryDTO;
+import com.example.Restaurant.dto.IngredientDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.repository.projection.ProductRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IngredientBitsetIndexTest {
+
+    private static final long PIZZA = 1L;
+    private static final long DESERT = 2L;
+    private static final long NUTS = 100L;
+    private static final long MILK = 101L;
+    private static final long TOMATO = 102L;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private IngredientBitsetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IngredientBitsetIndex(productRepository);
+
+        when(productRepository.findAllRows()).thenReturn(List.of(
+                row(10L, PIZZA),
+                row(11L, PIZZA),
+                row(20L, DESERT),
+                row(21L, DESERT)
+        ));
+        when(productRepository.findAllIngredientLinks()).thenReturn(List.of(
+                new Object[]{10L, MILK},
+                new Object[]{10L, TOMATO},
+                new Object[]{11L, TOMATO},
+                new Object[]{20L, NUTS},
+                new Object[]{20L, MILK},
+                new Object[]{21L, NUTS}
+        ));
+    }
+
+    @Test
+    void whenExcludingIngredients_thenOnlyProductsWithoutThemRemain() {
+        assertThat(index.findProductIds(null, null, List.of(NUTS, MILK))).containsExactly(11L);
+        assertThat(index.findProductIds(DESERT, null, List.of(MILK))).containsExactly(21L);
+        assertThat(index.findProductIds(PIZZA, List.of(TOMATO), List.of(MILK))).containsExactly(11L);
+        assertThat(index.findProductIds(PIZZA, List.of(NUTS), null)).isEmpty();
+    }
+
+    @Test
+    void whenCatalogChanges_thenBitsetsFollowWithoutReload() {
+        assertThat(index.isIngredientUsed(NUTS)).isTrue();
+
+        index.onProductDeleted(21L);
+        index.onProductSaved(detail(20L, DESERT, TOMATO));
+
+        assertThat(index.isIngredientUsed(NUTS)).isFalse();
+        assertThat(index.findProductIds(DESERT, List.of(TOMATO), null)).containsExactly(20L);
+
+        // ordinul eliberat de produsul 21 este refolosit
+        index.onProductSaved(detail(30L, PIZZA, NUTS));
+        assertThat(index.findProductIds(PIZZA, null, List.of(MILK))).containsExactlyInAnyOrder(11L, 30L);
+        assertThat(index.findProductIds(null, null, null)).containsExactlyInAnyOrder(10L, 11L, 20L, 30L);
+
+        index.onCategoryDeleted(PIZZA);
+        assertThat(index.findProductIds(null, null, null)).containsExactly(20L);
+        assertThat(index.isIngredientUsed(MILK)).isFalse();
+
+        verify(productRepository, times(1)).findAllRows();
+    }
+
+    private static ProductRow row(Long id, Long categoryId) {
+        return new ProductRow(id, "Produs " + id, null, BigDecimal.TEN, categoryId, null, null, null, null);
+    }
+
+    private static ProductDetailDTO detail(Long id, Long categoryId, Long ingredientId) {
+        return ProductDetailDTO.builder()
+                .id(id)
+                .name("Produs " + id)
+                .category(CategoryDTO.builder().id(categoryId).build())
+                .ingredients(Set.of(IngredientDTO.builder().id(ingredientId).build()))
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.Restaurant.search;
+
+import com.example.Restaurant.dto.CategoryDTO;
+import com.example.Restaurant.dto.IngredientDTO;
+import com.example.Restaurant.dto.ProductDetailDTO;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Ingredient;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private MenuSearchIndex menuSearchIndex;
+    private Runnable duringLoad = () -> { };
+
+    @BeforeEach
+    void setUp() {
+        menuSearchIndex = new MenuSearchIndex(productRepository);
+
+        Category pizza = Category.builder().id(1L).name("Pizza").build();
+        Category desert = Category.builder().id(2L).name("Desert").build();
+        Ingredient branza = Ingredient.builder().id(100L).name("Brânză de vaci").build();
+        Ingredient ciuperci = Ingredient.builder().id(101L).name("Ciuperci").build();
+
+        List<Product> catalog = List.of(
+                product(1L, "Pizza Țărănească", "Cu smântână și ciuperci", pizza, Set.of(ciuperci)),
+                product(2L, "Papanași", "Desert tradițional", desert, Set.of(branza)),
+                product(3L, "Pizza Quattro Formaggi", "Patru brânzeturi", pizza, Set.of())
+        );
+        when(productRepository.findAllWithDetails()).thenAnswer(invocation -> {
+            duringLoad.run();
+            return catalog;
+        });
+    }
+
+    @Test
+    void whenQueryHasNoDiacritics_thenMatchesFoldedText() {
+        assertThat(names(menuSearchIndex.search("taraneasca", 10))).containsExactly("Pizza Țărănească");
+        // "brânzeturi" este suficient de apropiat, dar potrivirea exactă pe ingredient rămâne prima
+        assertThat(names(menuSearchIndex.search("branza", 10)))
+                .containsExactly("Papanași", "Pizza Quattro Formaggi");
+    }
+
+    @Test
+    void whenQueryHasTypo_thenFuzzyMatchFindsProduct() {
+        assertThat(names(menuSearchIndex.search("papanasi", 10))).containsExactly("Papanași");
+        assertThat(names(menuSearchIndex.search("papansi", 10))).containsExactly("Papanași");
+    }
+
+    @Test
+    void whenQueryIsPrefix_thenNameMatchesRankFirst() {
+        List<String> results = names(menuSearchIndex.search("ciup", 10));
+
+        assertThat(results).containsExactly("Pizza Țărănească");
+        assertThat(names(menuSearchIndex.search("pizza", 10)))
+                .containsExactlyInAnyOrder("Pizza Țărănească", "Pizza Quattro Formaggi");
+    }
+
+    @Test
+    void whenCatalogChanges_thenIndexIsUpdatedWithoutReload() {
+        menuSearchIndex.search("pizza", 10);
+
+        menuSearchIndex.onProductSaved(ProductDetailDTO.builder()
+                .id(4L).name("Clătite").description("Cu gem").price(new BigDecimal("15"))
+                .category(CategoryDTO.builder().id(2L).name("Desert").build())
+                .ingredients(Set.of())
+                .build());
+        menuSearchIndex.onIngredientSaved(IngredientDTO.builder().id(101L).name("Hribi").build());
+        menuSearchIndex.onProductDeleted(3L);
+
+        assertThat(names(menuSearchIndex.search("clatite", 10))).containsExactly("Clătite");
+        assertThat(names(menuSearchIndex.search("hribi", 10))).containsExactly("Pizza Țărănească");
+        assertThat(names(menuSearchIndex.search("formaggi", 10))).isEmpty();
+
+        menuSearchIndex.onCategoryDeleted(2L);
+        assertThat(names(menuSearchIndex.search("desert", 10))).isEmpty();
+
+        verify(productRepository, times(1)).findAllWithDetails();
+    }
+
+    @Test
+    void whenProductIsSavedWhileIndexIsBuilding_thenChangeIsNotLost() throws InterruptedException {
+        Thread listener = new Thread(() -> menuSearchIndex.onProductSaved(ProductDetailDTO.builder()
+                .id(4L).name("Clătite").description("Cu gem").price(new BigDecimal("15"))
+                .ingredients(Set.of())
+                .build()));
+        // Evenimentul sosește cât timp construcția inițială ține lock-ul de scriere
+        duringLoad = () -> {
+            listener.start();
+            while (listener.getState() != Thread.State.WAITING && listener.getState() != Thread.State.TERMINATED) {
+                Thread.onSpinWait();
+            }
+        };
+
+        assertThat(menuSearchIndex.search("pizza", 10)).hasSize(2);
+        listener.join(5_000);
+
+        assertThat(names(menuSearchIndex.search("clatite", 10))).containsExactly("Clătite");
+    }
+
+    private static Product product(Long id, String name, String description, Category category, Set<Ingredient> ingredients) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(new BigDecimal("30"))
+                .category(category)
+                .ingredients(ingredients)
+                .build();
+    }
+
+    private static List<String> names(List<ProductDetailDTO> products) {
+        return products.stream().map(ProductDetailDTO::getName).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.cache.MenuSnapshot;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.repository.projection.ProductRow;
+import com.example.Restaurant.service.impl.MenuSnapshotServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuSnapshotServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private MenuSnapshotServiceImpl menuSnapshotService;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        menuSnapshotService = new MenuSnapshotServiceImpl(productRepository, new ObjectMapper(), true);
+
+        Category category = Category.builder().id(1L).name("Pizza").build();
+        product = Product.builder()
+                .id(10L)
+                .name("Margherita")
+                .price(new BigDecimal("32.50"))
+                .category(category)
+                .ingredients(Set.of())
+                .build();
+    }
+
+    @Test
+    void whenSnapshotReadTwice_thenDatabaseIsQueriedOnce() {
+        when(productRepository.findAllWithDetails()).thenReturn(List.of(product));
+
+        MenuSnapshot first = menuSnapshotService.getSnapshot();
+        MenuSnapshot second = menuSnapshotService.getSnapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getProducts()).hasSize(1);
+        verify(productRepository, times(1)).findAllWithDetails();
+    }
+
+    @Test
+    void whenInvalidated_thenSnapshotIsRebuiltWithNewEtag() {
+        when(productRepository.findAllWithDetails()).thenReturn(List.of(product));
+
+        MenuSnapshot before = menuSnapshotService.getSnapshot();
+        menuSnapshotService.invalidate();
+        MenuSnapshot after = menuSnapshotService.getSnapshot();
+
+        assertThat(after.getVersion()).isGreaterThan(before.getVersion());
+        assertThat(after.getEtag()).isNotEqualTo(before.getEtag());
+        verify(productRepository, times(2)).findAllWithDetails();
+    }
+
+    @Test
+    void whenPreSerialized_thenGzipVariantMatchesJson() throws Exception {
+        when(productRepository.findAllWithDetails()).thenReturn(List.of(product));
+        when(productRepository.findAllRows()).thenReturn(List.of(
+                new ProductRow(10L, "Margherita", null, new BigDecimal("32.50"), 1L, null, null, null, null)));
+        when(productRepository.findAllIngredientLinks()).thenReturn(List.<Object[]>of(new Object[]{10L, 3L}));
+
+        MenuSnapshot snapshot = menuSnapshotService.getSnapshot();
+
+        byte[] json = snapshot.getProductsPayload().getJson();
+        byte[] unzipped;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.getProductsPayload().getGzipJson()))) {
+            unzipped = in.readAllBytes();
+        }
+        assertThat(unzipped).isEqualTo(json);
+        assertThat(new String(json)).contains("\"name\":\"Margherita\"");
+        assertThat(snapshot.getProductsPayload().getGzipEtag()).isNotEqualTo(snapshot.getProductsPayload().getEtag());
+        assertThat(new String(snapshot.getProductSummariesPayload().getJson())).contains("\"categoryId\":1").contains("\"ingredientIds\":[3]");
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.mapper.OrderItemMapper;
+import com.example.Restaurant.mapper.OrderMapper;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Order;
+import com.example.Restaurant.model.OrderItem;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.service.impl.OrderExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "orders.export.batch-size=2",
+        // H2 nu acceptă fetch size negativ (modul streaming din Connector/J)
+        "orders.export.fetch-size=100"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderExportServiceImpl.class, OrderMapper.class, OrderItemMapper.class})
+class OrderExportServiceImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(Category.builder().name("Pizza").build());
+        Product margherita = entityManager.persist(Product.builder()
+                .name("Margherita").price(new BigDecimal("30.00")).category(category).build());
+        Product diavola = entityManager.persist(Product.builder()
+                .name("Diavola, picantă").price(new BigDecimal("35.00")).category(category).build());
+
+        for (int i = 0; i < 5; i++) {
+            Order order = Order.builder()
+                    .orderDate(LocalDateTime.of(2024, 1, 1 + i, 12, 0))
+                    .customerName("Client " + i)
+                    .customerAddress("Str. \"Mare\" " + i)
+                    .totalAmount(new BigDecimal("65.00"))
+                    .build();
+            List<OrderItem> items = new ArrayList<>();
+            items.add(OrderItem.builder().order(order).product(margherita).quantity(1).priceAtOrder(margherita.getPrice()).build());
+            items.add(OrderItem.builder().order(order).product(diavola).quantity(1).priceAtOrder(diavola.getPrice()).build());
+            order.setOrderItems(items);
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenExportingNdjson_thenOneLinePerOrderFromASingleQuery() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String[] lines = export(OrderExportService.Format.NDJSON).split("\n");
+
+        assertThat(lines).hasSize(5);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("customerName").asText()).isEqualTo("Client 0");
+        assertThat(first.get("orderItems")).hasSize(2);
+        // comenzile și produsele vin pe același cursor; alte interogări nu ar putea rula cât e deschis
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenExportingCsv_thenOneRowPerItemAndValuesAreEscaped() throws Exception {
+        String[] lines = export(OrderExportService.Format.CSV).split("\n");
+
+        assertThat(lines).hasSize(1 + 10);
+        assertThat(lines[0]).startsWith("orderId,orderDate");
+        assertThat(lines[1]).contains("\"Str. \"\"Mare\"\" 0\"");
+        assertThat(lines[2]).contains("\"Diavola, picantă\"");
+    }
+
+    @Test
+    void whenOrderHasNoItems_thenItIsStillExported() throws Exception {
+        entityManager.persist(Order.builder()
+                .orderDate(LocalDateTime.of(2024, 2, 1, 12, 0))
+                .customerName("Client fără produse")
+                .customerAddress("Str. Mică 1")
+                .totalAmount(BigDecimal.ZERO)
+                .orderItems(new ArrayList<>())
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        String[] lines = export(OrderExportService.Format.CSV).split("\n");
+
+        assertThat(lines).hasSize(1 + 10 + 1);
+        assertThat(lines[11]).contains("Client fără produse").endsWith("0,,,,,");
+    }
+
+    private String export(OrderExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrders(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.audit.AuditActorProvider;
+import com.example.Restaurant.audit.AuditOutbox;
+import com.example.Restaurant.dto.BatchOrderResultDTO;
+import com.example.Restaurant.dto.CreateOrderRequest;
+import com.example.Restaurant.dto.OrderItemRequestDTO;
+import com.example.Restaurant.mapper.OrderItemMapper;
+import com.example.Restaurant.mapper.OrderMapper;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Order;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.AuditOutboxRepository;
+import com.example.Restaurant.repository.CategoryRepository;
+import com.example.Restaurant.repository.OrderRepository;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.service.impl.OrderServiceImpl;
+import com.example.Restaurant.service.impl.SalesStatsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Importul pe bucăți rulat fără tranzacția testului, ca fiecare bucată să fie confirmată sau anulată de-adevăratelea.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "orders.batch.chunk-size=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@Import({OrderServiceImpl.class, OrderMapper.class, OrderItemMapper.class, SalesStatsServiceImpl.class, AuditOutbox.class})
+class OrderServiceImplBatchTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AuditOutboxRepository auditOutboxRepository;
+
+    @MockBean
+    private OrderStreamService orderStreamService;
+
+    @MockBean
+    private AuditActorProvider auditActorProvider;
+
+    @Test
+    void whenOneChunkFailsToInsert_thenOtherChunksStayCommitted() {
+        Category category = categoryRepository.save(Category.builder().name("Pizza").build());
+        Product product = productRepository.save(Product.builder()
+                .name("Margherita")
+                .price(new BigDecimal("30.00"))
+                .category(category)
+                .build());
+
+        // bucăți de câte 2: [0, 1] [2, 3] [4]; numele prea lung pică la INSERT și anulează doar bucata a doua
+        List<CreateOrderRequest> requests = List.of(
+                request("Ion Popescu", product),
+                request("Maria Ionescu", product),
+                request("Ana Stan", product),
+                request("X".repeat(300), product),
+                request("Mihai Rusu", product));
+
+        List<BatchOrderResultDTO> results = orderService.createOrders(requests);
+
+        assertThat(results).extracting(BatchOrderResultDTO::getStatus).containsExactly(
+                BatchOrderResultDTO.Status.CREATED, BatchOrderResultDTO.Status.CREATED,
+                BatchOrderResultDTO.Status.FAILED, BatchOrderResultDTO.Status.FAILED,
+                BatchOrderResultDTO.Status.CREATED);
+        assertThat(orderRepository.findAll()).extracting(Order::getCustomerName)
+                .containsExactlyInAnyOrder("Ion Popescu", "Maria Ionescu", "Mihai Rusu");
+        // logul bucății anulate a fost anulat odată cu ea
+        assertThat(auditOutboxRepository.count()).isEqualTo(2);
+    }
+
+    private static CreateOrderRequest request(String customerName, Product product) {
+        return CreateOrderRequest.builder()
+                .customerName(customerName)
+                .customerAddress("Str. Lalelelor 3")
+                .items(List.of(OrderItemRequestDTO.builder().productId(product.getId()).quantity(1).build()))
+                .build();
+    }
+}
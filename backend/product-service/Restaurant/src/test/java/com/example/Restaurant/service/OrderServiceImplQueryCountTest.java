@@ -0,0 +1,183 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.audit.AuditActorProvider;
+import com.example.Restaurant.audit.AuditOutbox;
+import com.example.Restaurant.dto.BatchOrderResultDTO;
+import com.example.Restaurant.dto.CreateOrderRequest;
+import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.dto.OrderHistoryPageDTO;
+import com.example.Restaurant.dto.OrderHistoryRequest;
+import com.example.Restaurant.dto.OrderItemRequestDTO;
+import com.example.Restaurant.mapper.OrderItemMapper;
+import com.example.Restaurant.mapper.OrderMapper;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.service.impl.OrderServiceImpl;
+import com.example.Restaurant.service.impl.SalesStatsServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifică faptul că o comandă costă un număr fix de interogări,
+ * indiferent de câte produse conține.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({OrderServiceImpl.class, OrderMapper.class, OrderItemMapper.class, SalesStatsServiceImpl.class, AuditOutbox.class})
+class OrderServiceImplQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OrderService orderService;
+
+    @MockBean
+    private OrderStreamService orderStreamService;
+
+    @MockBean
+    private AuditActorProvider auditActorProvider;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Category category = entityManager.persist(Category.builder().name("Pizza").build());
+        for (int i = 0; i < 12; i++) {
+            products.add(entityManager.persist(Product.builder()
+                    .name("Produs " + i)
+                    .price(new BigDecimal("20.00").add(BigDecimal.valueOf(i)))
+                    .category(category)
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // primul bloc de id-uri este alocat aici, nu în interogările măsurate
+        createOrder(1);
+    }
+
+    @Test
+    void whenOrderHasMoreItems_thenStatementCountStaysConstant() {
+        long singleItem = countStatements(1);
+        long twelveItems = countStatements(12);
+
+        // SELECT produse + INSERT comandă + INSERT (batch) produse comandate + INSERT în audit_outbox,
+        // plus cel mult câte un bloc nou din fiecare secvență (secvențele nu se anulează la rollback)
+        assertThat(singleItem).isBetween(4L, 7L);
+        assertThat(twelveItems).isBetween(4L, 7L);
+    }
+
+    @Test
+    void whenOrderIsCreated_thenTotalUsesCurrentPrices() {
+        OrderDTO order = createOrder(3);
+
+        // 20 + 21 + 22, câte două bucăți din fiecare
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("126.00");
+        assertThat(order.getOrderItems()).hasSize(3);
+    }
+
+    @Test
+    void whenBatchIsImported_thenOrdersShareOneProductLookupAndBatchedInserts() {
+        List<CreateOrderRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            requests.add(request(3));
+        }
+        requests.add(CreateOrderRequest.builder()
+                .customerName("Fără produse")
+                .customerAddress("-")
+                .items(List.of(OrderItemRequestDTO.builder().productId(-1L).quantity(1).build()))
+                .build());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<BatchOrderResultDTO> results = orderService.createOrders(requests);
+        entityManager.flush();
+
+        assertThat(results).hasSize(31);
+        assertThat(results.subList(0, 30)).allSatisfy(result -> {
+            assertThat(result.getStatus()).isEqualTo(BatchOrderResultDTO.Status.CREATED);
+            assertThat(result.getOrderId()).isNotNull();
+        });
+        assertThat(results.get(30).getStatus()).isEqualTo(BatchOrderResultDTO.Status.REJECTED);
+        // SELECT produse, secvențe, INSERT-uri în batch, un log în outbox; nu câte o interogare per comandă
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void whenWalkingOrderHistory_thenEachPageCostsTwoQueries() {
+        for (int i = 0; i < 5; i++) {
+            orderService.createOrder(request(2));
+        }
+        orderService.createOrder(CreateOrderRequest.builder()
+                .customerName("Maria Ionescu")
+                .customerAddress("Str. Florilor 1")
+                .items(List.of(OrderItemRequestDTO.builder().productId(products.get(0).getId()).quantity(1).build()))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        OrderHistoryRequest filter = OrderHistoryRequest.builder().customerPrefix("Ion").size(2).build();
+        List<Long> seen = new ArrayList<>();
+        OrderHistoryPageDTO page;
+        do {
+            statistics.clear();
+            page = orderService.getOrderHistory(filter);
+            // pagina de comenzi + produsele comandate pentru toată pagina
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            assertThat(page.getItems()).allSatisfy(order -> assertThat(order.getOrderItems()).isNotEmpty());
+            page.getItems().forEach(order -> seen.add(order.getId()));
+            filter.setAfterOrderDate(page.getNextAfterOrderDate());
+            filter.setAfterId(page.getNextAfterId());
+        } while (page.isHasMore());
+
+        // comanda din setUp + cele 5 de mai sus; "Maria" nu are prefixul cerut
+        assertThat(seen).hasSize(6).doesNotHaveDuplicates();
+    }
+
+    private long countStatements(int itemCount) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        createOrder(itemCount);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private OrderDTO createOrder(int itemCount) {
+        OrderDTO order = orderService.createOrder(request(itemCount));
+        entityManager.flush();
+        entityManager.clear();
+        return order;
+    }
+
+    private CreateOrderRequest request(int itemCount) {
+        List<OrderItemRequestDTO> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderItemRequestDTO.builder().productId(products.get(i).getId()).quantity(2).build());
+        }
+        return CreateOrderRequest.builder()
+                .customerName("Ion Popescu")
+                .customerAddress("Str. Lalelelor 3")
+                .items(items)
+                .build();
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.audit.AuditOutbox;
+import com.example.Restaurant.catalog.CatalogChangeNotifier;
+import com.example.Restaurant.dto.ProductDTO;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.CategoryRepository;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.search.IngredientBitsetIndex;
+import com.example.Restaurant.search.MenuSearchIndex;
+import com.example.Restaurant.service.impl.ProductServiceImpl;
+import com.example.commons.storage.ContentAddressedStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Contorul de referințe al imaginilor de produs, cu tranzacții confirmate de-adevăratelea și un store real pe disc.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@Import({ProductServiceImpl.class, ProductServiceImplImageTest.StoreConfig.class})
+class ProductServiceImplImageTest {
+
+    @TestConfiguration
+    static class StoreConfig {
+        @Bean
+        ContentAddressedStore productImageStore() throws IOException {
+            return new ContentAddressedStore(Files.createTempDirectory("product-images"));
+        }
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ContentAddressedStore productImageStore;
+
+    @MockBean
+    private CatalogChangeNotifier catalogChangeNotifier;
+    @MockBean
+    private MenuSearchIndex menuSearchIndex;
+    @MockBean
+    private IngredientBitsetIndex ingredientBitsetIndex;
+    @MockBean
+    private MenuSnapshotService menuSnapshotService;
+    @MockBean
+    private AuditOutbox auditOutbox;
+    @MockBean
+    private ProductImageService productImageService;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Pizza").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // fără tranzacția testului, rândurile rămân între teste
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void whenTwoProductsUploadTheSamePicture_thenFileStaysUntilBothLetGo() throws Exception {
+        Product margherita = product("Margherita");
+        Product diavola = product("Diavola");
+        byte[] picture = png(40);
+
+        String fileName = productService.uploadProductImage(margherita.getId(), new ByteArrayInputStream(picture), picture.length).getImageUrl();
+        assertThat(productService.uploadProductImage(diavola.getId(), new ByteArrayInputStream(picture), picture.length).getImageUrl())
+                .isEqualTo(fileName);
+        assertThat(productImageStore.referenceCount(fileName)).isEqualTo(2);
+
+        productService.delete(margherita.getId());
+        assertThat(productImageStore.getRoot().resolve(fileName)).exists();
+
+        productService.deleteProductImage(diavola.getId());
+        assertThat(productImageStore.getRoot().resolve(fileName)).doesNotExist();
+    }
+
+    @Test
+    void whenUpdateCarriesAnotherProductsImageUrl_thenItIsIgnored() throws Exception {
+        Product carbonara = product("Carbonara");
+        Product quattro = product("Quattro Formaggi");
+        byte[] picture = png(41);
+        String fileName = productService.uploadProductImage(carbonara.getId(), new ByteArrayInputStream(picture), picture.length).getImageUrl();
+
+        ProductDTO update = ProductDTO.builder()
+                .name("Quattro Formaggi")
+                .price(new BigDecimal("38.00"))
+                .categoryId(category.getId())
+                .ingredientIds(Set.of())
+                .imageUrl(fileName)
+                .build();
+        assertThat(productService.update(quattro.getId(), update).getImageUrl()).isNull();
+        assertThat(productService.create(update).getImageUrl()).isNull();
+
+        // fără referința ocolită, ștergerea primului produs nu lasă alt produs cu un fișier inexistent
+        assertThat(productImageStore.referenceCount(fileName)).isEqualTo(1);
+        productService.delete(carbonara.getId());
+        assertThat(productRepository.findAll()).extracting(Product::getImageUrl).doesNotContain(fileName);
+    }
+
+    @Test
+    void whenTransactionRollsBack_thenImageIsNotReleased() throws Exception {
+        Product tiramisu = product("Tiramisu");
+        byte[] picture = png(42);
+        String fileName = productService.uploadProductImage(tiramisu.getId(), new ByteArrayInputStream(picture), picture.length).getImageUrl();
+        // outbox-ul pică după ce referința a fost deja renunțată în cod: tranzacția se anulează
+        doThrow(new RuntimeException("outbox indisponibil")).when(auditOutbox)
+                .record(anyString(), anyString(), eq("DELETE_IMAGE"), anyString());
+        doThrow(new RuntimeException("outbox indisponibil")).when(auditOutbox)
+                .record(anyString(), anyString(), eq("DELETE"), anyString());
+        doThrow(new RuntimeException("outbox indisponibil")).when(auditOutbox)
+                .record(anyString(), anyString(), eq("UPLOAD_IMAGE"), anyString());
+
+        assertThatThrownBy(() -> productService.deleteProductImage(tiramisu.getId())).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> productService.delete(tiramisu.getId())).isInstanceOf(RuntimeException.class);
+        byte[] replacement = png(43);
+        assertThatThrownBy(() -> productService.uploadProductImage(tiramisu.getId(), new ByteArrayInputStream(replacement), replacement.length))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(productRepository.findById(tiramisu.getId())).get().extracting(Product::getImageUrl).isEqualTo(fileName);
+        assertThat(productImageStore.referenceCount(fileName)).isEqualTo(1);
+        verify(productImageService, never()).deleteVariants(fileName);
+        // imaginea nouă, neatașată, nu rămâne pe disc
+        try (var files = Files.list(productImageStore.getRoot())) {
+            assertThat(files.filter(Files::isRegularFile)).extracting(path -> path.getFileName().toString()).containsExactly(fileName);
+        }
+    }
+
+    private Product product(String name) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .price(new BigDecimal("35.00"))
+                .category(category)
+                .build());
+    }
+
+    // conținut diferit pentru fiecare test, ca fișierele să nu se suprapună în store
+    private static byte[] png(int size) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+}
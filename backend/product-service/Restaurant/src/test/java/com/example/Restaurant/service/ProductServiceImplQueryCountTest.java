@@ -0,0 +1,126 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.audit.AuditOutbox;
+import com.example.Restaurant.catalog.CatalogChangeNotifier;
+import com.example.Restaurant.dto.ProductDTO;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Ingredient;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.search.IngredientBitsetIndex;
+import com.example.Restaurant.search.MenuSearchIndex;
+import com.example.Restaurant.service.impl.ProductServiceImpl;
+import com.example.commons.storage.ContentAddressedStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifică faptul că GET /api/products rulează un număr constant de interogări,
+ * indiferent de câte produse are meniul.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(ProductServiceImpl.class)
+class ProductServiceImplQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductService productService;
+
+    @MockBean
+    private CatalogChangeNotifier catalogChangeNotifier;
+
+    @MockBean
+    private MenuSearchIndex menuSearchIndex;
+
+    @MockBean
+    private IngredientBitsetIndex ingredientBitsetIndex;
+
+    @MockBean
+    private MenuSnapshotService menuSnapshotService;
+
+    @MockBean
+    private AuditOutbox auditOutbox;
+
+    @MockBean
+    private ProductImageService productImageService;
+
+    @MockBean
+    private ContentAddressedStore productImageStore;
+
+    private Category category;
+    private Ingredient cheese;
+    private Ingredient tomato;
+
+    @BeforeEach
+    void setUp() {
+        category = entityManager.persist(Category.builder().name("Pizza").build());
+        cheese = entityManager.persist(Ingredient.builder().name("Mozzarella").build());
+        tomato = entityManager.persist(Ingredient.builder().name("Roșii").build());
+    }
+
+    @Test
+    void whenMenuGrows_thenFindAllQueryCountStaysConstant() {
+        persistProducts(3);
+        long smallMenuQueries = countQueries();
+
+        persistProducts(40);
+        long largeMenuQueries = countQueries();
+
+        assertThat(smallMenuQueries).isEqualTo(2);
+        assertThat(largeMenuQueries).isEqualTo(smallMenuQueries);
+    }
+
+    @Test
+    void whenFindAll_thenCategoryAndIngredientIdsAreMapped() {
+        persistProducts(2);
+
+        List<ProductDTO> products = productService.findAll();
+
+        assertThat(products).hasSize(2);
+        assertThat(products).allSatisfy(product -> {
+            assertThat(product.getCategoryId()).isEqualTo(category.getId());
+            assertThat(product.getIngredientIds()).containsExactlyInAnyOrder(cheese.getId(), tomato.getId());
+        });
+    }
+
+    private void persistProducts(int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(Product.builder()
+                    .name("Produs " + i)
+                    .price(new BigDecimal("25.00"))
+                    .category(category)
+                    .ingredients(Set.of(cheese, tomato))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        productService.findAll();
+        return statistics.getPrepareStatementCount();
+    }
+}
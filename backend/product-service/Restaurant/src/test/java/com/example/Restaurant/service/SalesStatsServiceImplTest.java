@@ -0,0 +1,190 @@
+package com.example.Restaurant.service;
+
+import com.example.Restaurant.dto.ItemSalesDTO;
+import com.example.Restaurant.dto.SalesStatsDTO;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Order;
+import com.example.Restaurant.model.OrderItem;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.model.SalesDimension;
+import com.example.Restaurant.repository.CategoryRepository;
+import com.example.Restaurant.repository.OrderRepository;
+import com.example.Restaurant.repository.ProductRepository;
+import com.example.Restaurant.repository.SalesRollupRepository;
+import com.example.Restaurant.service.impl.SalesStatsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Rulează fără tranzacția de test, ca înregistrările să ajungă direct în contoarele din memorie,
+ * la fel ca după commit-ul unei comenzi reale.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "orders.stats.flush-interval-ms=3600000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SalesStatsServiceImpl.class)
+class SalesStatsServiceImplTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 8);
+
+    @Autowired
+    private SalesStatsServiceImpl salesStatsService;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Product pizza;
+    private Product lemonade;
+
+    @BeforeEach
+    void setUp() {
+        Category food = categoryRepository.save(Category.builder().name("Mâncare").build());
+        Category drinks = categoryRepository.save(Category.builder().name("Băuturi").build());
+        pizza = productRepository.save(Product.builder().name("Pizza").price(new BigDecimal("30.00")).category(food).build());
+        lemonade = productRepository.save(Product.builder().name("Limonadă").price(new BigDecimal("12.00")).category(drinks).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        salesRollupRepository.deleteAll();
+        orderRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void whenTableIsEmpty_thenExistingOrdersAreAggregatedOnce() {
+        orderRepository.save(order(2, 1));
+        orderRepository.save(order(1, 0));
+
+        salesStatsService.rebuildIfEmpty();
+        salesStatsService.rebuildIfEmpty();
+
+        SalesStatsDTO stats = salesStatsService.getStats(DAY, DAY);
+        assertThat(stats.getTotalRevenue()).isEqualByComparingTo("102.00");
+        assertThat(stats.getTotalQuantity()).isEqualTo(4);
+        assertThat(stats.getTotalOrders()).isEqualTo(2);
+        assertThat(stats.getProducts()).extracting(ItemSalesDTO::getName).containsExactly("Pizza", "Limonadă");
+        assertThat(stats.getProducts().get(0).getOrderCount()).isEqualTo(2);
+        assertThat(stats.getCategories()).extracting(ItemSalesDTO::getRevenue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("90.00"), new BigDecimal("12.00"));
+    }
+
+    @Test
+    void whenOrdersAreRecorded_thenStatsIncludeThemBeforeAndAfterFlush() {
+        Order first = orderRepository.save(order(1, 2));
+        Order second = orderRepository.save(order(3, 0));
+        salesStatsService.recordOrderCreated(first);
+        salesStatsService.recordOrderCreated(second);
+
+        // încă nescrise în baza de date, dar deja vizibile
+        assertThat(salesRollupRepository.count()).isZero();
+        assertThat(salesStatsService.getStats(DAY, DAY).getTotalRevenue()).isEqualByComparingTo("144.00");
+
+        salesStatsService.flush();
+        assertThat(salesRollupRepository.findByDimensionBetween(SalesDimension.PRODUCT, DAY, DAY)).hasSize(2);
+        assertThat(salesStatsService.getStats(DAY, DAY).getTotalRevenue()).isEqualByComparingTo("144.00");
+
+        salesStatsService.recordOrderDeleted(second);
+        salesStatsService.flush();
+
+        SalesStatsDTO stats = salesStatsService.getStats(DAY, DAY);
+        assertThat(stats.getTotalRevenue()).isEqualByComparingTo("54.00");
+        assertThat(stats.getTotalOrders()).isEqualTo(1);
+        assertThat(stats.getDays()).hasSize(1);
+        assertThat(salesStatsService.getStats(DAY.plusDays(1), DAY.plusDays(7)).getTotalOrders()).isZero();
+    }
+
+    @Test
+    void whenStatsAreReadWhileFlushIsWriting_thenNothingIsMissing() throws Exception {
+        // flush-ul se oprește în mijlocul tranzacției: memoria e deja golită, tabela încă neconfirmată
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        SalesRollupRepository pausingRepository = mock(SalesRollupRepository.class, delegatesTo(salesRollupRepository));
+        doAnswer(invocation -> {
+            writing.countDown();
+            resume.await(10, TimeUnit.SECONDS);
+            return salesRollupRepository.increment(invocation.getArgument(0), invocation.getArgument(1),
+                    invocation.getArgument(2), invocation.getArgument(3));
+        }).when(pausingRepository).increment(any(), any(), anyLong(), anyLong());
+        SalesStatsServiceImpl salesStatsService = new SalesStatsServiceImpl(pausingRepository, productRepository,
+                categoryRepository, transactionManager);
+        salesStatsService.recordOrderCreated(orderRepository.save(order(2, 1)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> flush = executor.submit(salesStatsService::flush);
+            assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<SalesStatsDTO> stats = executor.submit(() -> salesStatsService.getStats(DAY, DAY));
+            Thread.sleep(200);
+            resume.countDown();
+
+            flush.get(10, TimeUnit.SECONDS);
+            assertThat(stats.get(10, TimeUnit.SECONDS).getTotalRevenue()).isEqualByComparingTo("72.00");
+        } finally {
+            resume.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private Order order(int pizzas, int lemonades) {
+        Order order = Order.builder()
+                .orderDate(DAY.atTime(19, 30))
+                .customerName("Client")
+                .customerAddress("Str. Principală 1")
+                .build();
+        List<OrderItem> items = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        if (pizzas > 0) {
+            items.add(OrderItem.builder().order(order).product(pizza).quantity(pizzas).priceAtOrder(pizza.getPrice()).build());
+            total = total.add(pizza.getPrice().multiply(BigDecimal.valueOf(pizzas)));
+        }
+        if (lemonades > 0) {
+            items.add(OrderItem.builder().order(order).product(lemonade).quantity(lemonades).priceAtOrder(lemonade.getPrice()).build());
+            total = total.add(lemonade.getPrice().multiply(BigDecimal.valueOf(lemonades)));
+        }
+        order.setOrderItems(items);
+        order.setTotalAmount(total);
+        return order;
+    }
+}
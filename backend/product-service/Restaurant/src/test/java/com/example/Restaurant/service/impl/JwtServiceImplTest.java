@@ -0,0 +1,38 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.model.Role;
+import com.example.Restaurant.model.User;
+import com.example.commons.security.JwtVerifier;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtServiceImplTest {
+
+    private static final String SECRET = "bXktc3VwZXItc2VjcmV0LWtleS1mb3Itand0LXNhbXBsZS1hcHBsaWNhdGlvbg==";
+
+    private final User user = User.builder().id(7L).name("Ana Pop").email("ana@restaurant.ro").role(Role.ADMIN).build();
+
+    @Test
+    void whenTokenIsGenerated_thenSharedVerifierReadsItsClaims() {
+        JwtVerifier jwtVerifier = new JwtVerifier(SECRET, 100);
+        JwtServiceImpl jwtService = new JwtServiceImpl(jwtVerifier, 60_000);
+        String token = jwtService.generateToken(user);
+
+        assertThat(jwtService.extractUsername(token)).isEqualTo("7");
+        assertThat(jwtService.extractName(token)).isEqualTo("Ana Pop");
+        assertThat(jwtVerifier.verify(token).email()).isEqualTo("ana@restaurant.ro");
+        assertThat(jwtVerifier.verify(token).roles()).containsExactlyElementsOf(
+                user.getAuthorities().stream().map(Object::toString).toList());
+    }
+
+    @Test
+    void whenTokenIsExpired_thenItIsRejected() {
+        JwtServiceImpl jwtService = new JwtServiceImpl(new JwtVerifier(SECRET, 100), -1_000);
+        String token = jwtService.generateToken(user);
+
+        assertThatThrownBy(() -> jwtService.extractName(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+}
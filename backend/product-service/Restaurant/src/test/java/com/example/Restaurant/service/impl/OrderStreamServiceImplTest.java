@@ -0,0 +1,173 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.dto.OrderDTO;
+import com.example.Restaurant.events.OrderStreamEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderStreamServiceImplTest {
+
+    private OrderStreamServiceImpl orderStreamService;
+
+    @BeforeEach
+    void setUp() {
+        orderStreamService = new OrderStreamServiceImpl(60_000, 4, 3, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderStreamService.shutdown();
+    }
+
+    @Test
+    void whenOrderIsPublished_thenEverySubscriberReceivesIt() throws Exception {
+        RecordingSink kitchen = new RecordingSink();
+        RecordingSink admin = new RecordingSink();
+        orderStreamService.register(null, kitchen);
+        orderStreamService.register(null, admin);
+
+        orderStreamService.publish(OrderStreamEvent.Type.CREATED, order(1L));
+
+        assertThat(kitchen.next().getOrder().getId()).isEqualTo(1L);
+        assertThat(admin.next().getType()).isEqualTo(OrderStreamEvent.Type.CREATED);
+    }
+
+    @Test
+    void whenReconnectingWithLastEventId_thenMissedEventsAreReplayed() throws Exception {
+        RecordingSink first = new RecordingSink();
+        orderStreamService.register(null, first);
+        orderStreamService.publish(OrderStreamEvent.Type.CREATED, order(1L));
+        orderStreamService.publish(OrderStreamEvent.Type.CREATED, order(2L));
+        orderStreamService.publish(OrderStreamEvent.Type.UPDATED, order(2L));
+        String lastSeen = first.next().getId();
+
+        RecordingSink reconnected = new RecordingSink();
+        orderStreamService.register(lastSeen, reconnected);
+        orderStreamService.publish(OrderStreamEvent.Type.DELETED, order(1L));
+
+        assertThat(reconnected.next().getSequence()).isEqualTo(2);
+        assertThat(reconnected.next().getType()).isEqualTo(OrderStreamEvent.Type.UPDATED);
+        assertThat(reconnected.next().getType()).isEqualTo(OrderStreamEvent.Type.DELETED);
+    }
+
+    @Test
+    void whenLastEventIdIsOutsideReplayWindow_thenClientIsToldToResync() throws Exception {
+        for (long i = 1; i <= 5; i++) {
+            orderStreamService.publish(OrderStreamEvent.Type.CREATED, order(i));
+        }
+        RecordingSink stale = new RecordingSink();
+        orderStreamService.register("altă-pornire-1", stale);
+
+        assertThat(stale.awaitResync()).isTrue();
+    }
+
+    @Test
+    void whenSubscriberIsTooSlow_thenItIsDisconnectedWithoutBlockingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(release);
+        RecordingSink fast = new RecordingSink();
+        orderStreamService.register(null, slow);
+        orderStreamService.register(null, fast);
+
+        for (long i = 1; i <= 10; i++) {
+            orderStreamService.publish(OrderStreamEvent.Type.CREATED, order(i));
+            assertThat(fast.next().getOrder().getId()).isEqualTo(i);
+        }
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(orderStreamService.subscriberCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void whenReplayWindowIsLargerThanSubscriberBuffer_thenConfigurationIsRejected() {
+        // o reluare completă n-ar încăpea în coadă, iar clientul ar fi deconectat la fiecare reconectare
+        assertThatThrownBy(() -> new OrderStreamServiceImpl(60_000, 64, 256, 2, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("orders.stream.replay-size");
+    }
+
+    @Test
+    void whenReplayFillsTheWholeWindow_thenSubscriberStaysConnected() throws Exception {
+        OrderStreamServiceImpl fullWindow = new OrderStreamServiceImpl(60_000, 3, 3, 2, false);
+        try {
+            RecordingSink first = new RecordingSink();
+            fullWindow.register(null, first);
+            String lastSeen = null;
+            for (long i = 1; i <= 4; i++) {
+                fullWindow.publish(OrderStreamEvent.Type.CREATED, order(i));
+                OrderStreamEvent received = first.next();
+                if (i == 1) {
+                    lastSeen = received.getId();
+                }
+            }
+
+            RecordingSink reconnected = new RecordingSink();
+            fullWindow.register(lastSeen, reconnected);
+
+            for (long i = 2; i <= 4; i++) {
+                assertThat(reconnected.next().getOrder().getId()).isEqualTo(i);
+            }
+            assertThat(reconnected.completed.getCount()).isEqualTo(1);
+            assertThat(fullWindow.subscriberCount()).isEqualTo(2);
+        } finally {
+            fullWindow.shutdown();
+        }
+    }
+
+    private static OrderDTO order(Long id) {
+        return OrderDTO.builder().id(id).customerName("Client " + id).build();
+    }
+
+    private static final class RecordingSink implements OrderStreamServiceImpl.EventSink {
+        private final BlockingQueue<Object> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        RecordingSink() {
+            this(null);
+        }
+
+        RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(OrderStreamServiceImpl.Message message) {
+            if (message == OrderStreamServiceImpl.Message.HEARTBEAT) {
+                return;
+            }
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            received.add(message == OrderStreamServiceImpl.Message.RESYNC ? "resync" : message.event);
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        OrderStreamEvent next() throws InterruptedException {
+            Object value = received.poll(5, TimeUnit.SECONDS);
+            assertThat(value).isInstanceOf(OrderStreamEvent.class);
+            return (OrderStreamEvent) value;
+        }
+
+        boolean awaitResync() throws InterruptedException {
+            return "resync".equals(received.poll(5, TimeUnit.SECONDS));
+        }
+    }
+}
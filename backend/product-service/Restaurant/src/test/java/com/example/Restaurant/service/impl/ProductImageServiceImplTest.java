@@ -0,0 +1,155 @@
+package com.example.Restaurant.service.impl;
+
+import com.example.Restaurant.catalog.CatalogChangeNotifier;
+import com.example.Restaurant.model.Category;
+import com.example.Restaurant.model.Product;
+import com.example.Restaurant.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductImageServiceImplTest {
+
+    private static final String ORIGINAL = "abc_pizza.png";
+
+    @TempDir
+    Path uploadDir;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CatalogChangeNotifier catalogChangeNotifier = mock(CatalogChangeNotifier.class);
+    private ProductImageServiceImpl productImageService;
+    private Product product;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productImageService = new ProductImageServiceImpl(productRepository, catalogChangeNotifier,
+                mock(PlatformTransactionManager.class), uploadDir.toString(), 0.8f, 1, 10, 30_000_000);
+
+        // PNG cu transparență, mai lat decât varianta cea mai mare
+        BufferedImage image = new BufferedImage(2400, 1600, BufferedImage.TYPE_INT_ARGB);
+        ImageIO.write(image, "png", uploadDir.resolve(ORIGINAL).toFile());
+
+        product = Product.builder()
+                .id(7L)
+                .name("Margherita")
+                .price(new BigDecimal("32.50"))
+                .category(Category.builder().id(1L).name("Pizza").build())
+                .ingredients(Set.of())
+                .imageUrl(ORIGINAL)
+                .build();
+        when(productRepository.findById(7L)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productImageService.shutdown();
+    }
+
+    @Test
+    void whenVariantsAreGenerated_thenTheyAreJpegsAtTheirWidthsAndStoredOnTheProduct() throws Exception {
+        productImageService.process(7L, ORIGINAL);
+
+        assertThat(product.getImageThumbUrl()).isEqualTo("abc_pizza-thumb.jpg");
+        assertThat(product.getImageCardUrl()).isEqualTo("abc_pizza-card.jpg");
+        assertThat(product.getImageFullUrl()).isEqualTo("abc_pizza-full.jpg");
+        assertThat(widthOf(product.getImageThumbUrl())).isEqualTo(160);
+        assertThat(widthOf(product.getImageCardUrl())).isEqualTo(480);
+        BufferedImage full = ImageIO.read(uploadDir.resolve(product.getImageFullUrl()).toFile());
+        assertThat(full.getWidth()).isEqualTo(1200);
+        assertThat(full.getHeight()).isEqualTo(800);
+        assertThat(Files.size(uploadDir.resolve(product.getImageThumbUrl())))
+                .isLessThan(Files.size(uploadDir.resolve(product.getImageFullUrl())));
+        verify(catalogChangeNotifier).productSaved(any());
+    }
+
+    @Test
+    void whenImageIsSmallerThanVariant_thenItIsNotUpscaled() {
+        BufferedImage small = new BufferedImage(300, 200, BufferedImage.TYPE_INT_RGB);
+
+        assertThat(ProductImageServiceImpl.downscale(small, 1200).getWidth()).isEqualTo(300);
+        assertThat(ProductImageServiceImpl.downscale(small, 160).getHeight()).isEqualTo(107);
+    }
+
+    @Test
+    void whenImageWasReplacedMeanwhile_thenProductIsLeftAloneButSharedVariantsAreKept() {
+        product.setImageUrl("def_burger.png");
+
+        productImageService.process(7L, ORIGINAL);
+
+        assertThat(product.getImageThumbUrl()).isNull();
+        verify(productRepository, never()).save(any(Product.class));
+        // originalul există încă, deci îl mai folosește alt produs
+        assertThat(uploadDir.resolve("abc_pizza-thumb.jpg")).exists();
+    }
+
+    @Test
+    void whenVariantsAlreadyExistForTheSameImage_thenTheyAreReused() throws Exception {
+        productImageService.process(7L, ORIGINAL);
+        FileTime generatedAt = Files.getLastModifiedTime(uploadDir.resolve("abc_pizza-full.jpg"));
+        product.setImageFullUrl(null);
+
+        productImageService.process(7L, ORIGINAL);
+
+        assertThat(product.getImageFullUrl()).isEqualTo("abc_pizza-full.jpg");
+        assertThat(Files.getLastModifiedTime(uploadDir.resolve("abc_pizza-full.jpg"))).isEqualTo(generatedAt);
+    }
+
+    @Test
+    void whenHeaderDeclaresTooManyPixels_thenImageIsRejectedBeforeDecoding() throws Exception {
+        // un PNG mic al cărui antet pretinde 30000x30000 pixeli (3,6 GB decodat ca ARGB)
+        Files.write(uploadDir.resolve("bomba.png"), withDeclaredSize(uploadDir.resolve(ORIGINAL), 30_000, 30_000));
+        product.setImageUrl("bomba.png");
+
+        productImageService.process(7L, "bomba.png");
+
+        assertThat(product.getImageFullUrl()).isNull();
+        verify(productRepository, never()).save(any(Product.class));
+        assertThat(uploadDir.resolve("bomba-full.jpg")).doesNotExist();
+    }
+
+    @Test
+    void whenOriginalIsMuchWiderThanTheFullVariant_thenItIsSubsampledWhileDecoding() throws Exception {
+        ImageIO.write(new BufferedImage(6000, 4000, BufferedImage.TYPE_INT_RGB), "png", uploadDir.resolve("mare.png").toFile());
+
+        BufferedImage decoded = productImageService.readOriginal(uploadDir.resolve("mare.png"));
+
+        assertThat(decoded.getWidth()).isEqualTo(3000);
+        assertThat(decoded.getHeight()).isEqualTo(2000);
+    }
+
+    // Rescrie lățimea și înălțimea din IHDR (și CRC-ul lui), fără să schimbe datele comprimate
+    private static byte[] withDeclaredSize(Path png, int width, int height) throws Exception {
+        byte[] bytes = Files.readAllBytes(png);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.putInt(16, width).putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 12, 17);
+        buffer.putInt(29, (int) crc.getValue());
+        return bytes;
+    }
+
+    private int widthOf(String fileName) throws Exception {
+        return ImageIO.read(uploadDir.resolve(fileName).toFile()).getWidth();
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.ReservationManagement.config; // Adaptează pachetul la structura ta
 
-import com.example.ReservationManagement.config.filter.JwtAuthenticationFilter;
-import lombok.RequiredArgsConstructor;
+import com.example.commons.security.JwtAuthenticationFilter;
+import com.example.commons.security.JwtVerifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod; // Import NOU: pentru HttpMethod
@@ -19,19 +19,23 @@ import java.util.Arrays;
 
 @Configuration
 @EnableWebSecurity
-@RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final JwtAuthenticationFilter jwtAuthFilter;
+    @Bean
+    public JwtAuthenticationFilter jwtAuthFilter(JwtVerifier jwtVerifier) {
+        return new JwtAuthenticationFilter(jwtVerifier);
+    }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthFilter) throws Exception {
         http
                 .cors(Customizer.withDefaults())
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/reservations/user").permitAll()
                         .requestMatchers("/api/reservations/**").authenticated()
+                        // metricile (JWT, HTTP) nu sunt publice; health rămâne deschis
+                        .requestMatchers("/actuator/metrics/**").authenticated()
                         .anyRequest().permitAll()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
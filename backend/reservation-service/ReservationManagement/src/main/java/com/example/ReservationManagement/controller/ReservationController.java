@@ -1,12 +1,13 @@
 package com.example.ReservationManagement.controller;
 
 import com.example.ReservationManagement.dto.*;
-import com.example.ReservationManagement.events.LogEvent; // NOU: Importăm LogEvent
-import com.example.ReservationManagement.service.JwtService;
+import com.example.ReservationManagement.events.LogEventPublisher;
 import com.example.ReservationManagement.service.ReservationService;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.example.commons.events.LogEvent; // NOU: Importăm LogEvent
+import com.example.commons.security.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -15,33 +16,28 @@ import java.util.List;
 @RequestMapping("/api/reservations")
 public class ReservationController {
 
-    private static final String EXCHANGE_NAME = "logs_exchange";
     private static final String ROUTING_KEY_RESERVATION = "log.reservation.event";
 
     private final ReservationService reservationService;
-    private final RabbitTemplate rabbitTemplate;
-    private final JwtService jwtService;
+    private final LogEventPublisher logEventPublisher;
 
     @Autowired
     public ReservationController(
             ReservationService reservationService,
-            RabbitTemplate rabbitTemplate,
-            JwtService jwtService) {
+            LogEventPublisher logEventPublisher) {
         this.reservationService = reservationService;
-        this.rabbitTemplate = rabbitTemplate;
-        this.jwtService = jwtService;
+        this.logEventPublisher = logEventPublisher;
     }
 
     @PostMapping("/admin")
     public ResponseEntity<ReservationResponseDTO> createAdminReservation(
             @RequestBody AdminReservationRequestDTO requestDTO,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
         ReservationResponseDTO response = reservationService.createReservationFromAdmin(requestDTO);
 
         try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a creat Rezervarea #%d pentru clientul '%s'.",
                     userName,
@@ -49,7 +45,7 @@ public class ReservationController {
                     response.getCustomerName());
 
             LogEvent event = new LogEvent(logMessage, "RESERVATION", "CREATE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_RESERVATION, event);
+            logEventPublisher.publish(ROUTING_KEY_RESERVATION, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de rezervare (create): " + e.getMessage());
@@ -62,13 +58,12 @@ public class ReservationController {
     public ResponseEntity<Void> updateStatus(
             @PathVariable Long id,
             @RequestBody UpdateReservationStatusDTO statusDTO,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
         reservationService.updateStatus(id, statusDTO);
 
         try {
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a actualizat statusul Rezervării #%d la '%s'.",
                     userName,
@@ -76,7 +71,7 @@ public class ReservationController {
                     statusDTO.getStatus());
 
             LogEvent event = new LogEvent(logMessage, "RESERVATION", "UPDATE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_RESERVATION, event);
+            logEventPublisher.publish(ROUTING_KEY_RESERVATION, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de rezervare (update status): " + e.getMessage());
@@ -87,11 +82,10 @@ public class ReservationController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReservation(@PathVariable Long id,
-                                                  @RequestHeader("Authorization") String authHeader) {
+                                                  @AuthenticationPrincipal JwtPrincipal principal) {
         try {
             ReservationResponseDTO reservationToDelete = reservationService.getReservationById(id);
-            final String token = authHeader.substring(7);
-            final String userName = jwtService.extractName(token);
+            final String userName = principal.name();
             String logMessage = String.format(
                     "Utilizatorul '%s' a șters Rezervarea #%d pentru clientul '%s'.",
                     userName,
@@ -99,7 +93,7 @@ public class ReservationController {
                     reservationToDelete.getCustomerName());
 
             LogEvent event = new LogEvent(logMessage, "RESERVATION", "DELETE");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, ROUTING_KEY_RESERVATION, event);
+            logEventPublisher.publish(ROUTING_KEY_RESERVATION, event);
 
         } catch (Exception e) {
             System.err.println("### Eroare la trimiterea log-ului de rezervare (delete): " + e.getMessage());
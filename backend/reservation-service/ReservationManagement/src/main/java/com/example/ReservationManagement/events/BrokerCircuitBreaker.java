@@ -0,0 +1,65 @@
+package com.example.ReservationManagement.events;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Întrerupător pentru conexiunea la RabbitMQ. După {@code failureThreshold} erori consecutive se deschide,
+ * iar cât timp e deschis firele cererilor nu mai încearcă broker-ul deloc.
+ * După {@code openMillis} o singură încercare de probă (semi-deschis) decide dacă se închide la loc.
+ */
+public class BrokerCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public BrokerCircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    BrokerCircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    // Firele cererilor: trimit direct doar când circuitul e închis
+    public synchronized boolean allowsRequests() {
+        return state == State.CLOSED;
+    }
+
+    // Firul de reluare: poate proba broker-ul după expirarea pauzei
+    public synchronized boolean tryProbe() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.ReservationManagement.events;
+
+import com.example.commons.events.LogEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Jurnal local, doar cu adăugare, pentru log-urile care nu au putut fi trimise la RabbitMQ.
+ * Fișierul are dimensiune fixă și este mapat în memorie, deci o scriere costă o copiere în page cache.
+ * <p>
+ * Format: antet [readOffset (long), writeOffset (long)], apoi înregistrări [lungime (int), crc32 (int), JSON].
+ * Antetul este actualizat după înregistrare, așa că o oprire bruscă pierde cel mult înregistrarea în curs.
+ */
+public class LogEventJournal implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private long readOffset;
+    private long writeOffset;
+
+    public LogEventJournal(Path path, int capacity, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.capacity = Math.max(capacity, HEADER_SIZE + RECORD_HEADER_SIZE + 1024);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nu se poate deschide jurnalul de log-uri: " + path, e);
+        }
+
+        readOffset = buffer.getLong(0);
+        writeOffset = buffer.getLong(8);
+        // fișier nou sau antet invalid: pornim de la zero
+        if (readOffset < HEADER_SIZE || writeOffset < readOffset || writeOffset > this.capacity) {
+            readOffset = HEADER_SIZE;
+            writeOffset = HEADER_SIZE;
+            writeHeader();
+        }
+    }
+
+    public synchronized boolean append(String routingKey, LogEvent event) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(new Entry(routingKey, event));
+        } catch (IOException e) {
+            System.err.println("### Eroare la serializarea log-ului pentru jurnal: " + e.getMessage());
+            return false;
+        }
+
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (writeOffset + recordSize > capacity) {
+            compact();
+            if (writeOffset + recordSize > capacity) {
+                return false;
+            }
+        }
+
+        int position = (int) writeOffset;
+        buffer.putInt(position, payload.length);
+        buffer.putInt(position + 4, crc(payload));
+        buffer.put(position + RECORD_HEADER_SIZE, payload);
+        writeOffset += recordSize;
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Primele înregistrări nereluate, în ordinea scrierii; nu le șterge din jurnal.
+     */
+    public synchronized Batch peek(int maxRecords) {
+        List<Entry> entries = new ArrayList<>();
+        int records = 0;
+        long position = readOffset;
+        while (records < maxRecords && position < writeOffset) {
+            byte[] payload = readPayload(position);
+            if (payload == null) {
+                // înregistrare coruptă (de ex. după o cădere a sistemului): restul jurnalului nu mai e de încredere
+                System.err.println("### Jurnalul de log-uri este corupt la poziția " + position + "; restul înregistrărilor sunt ignorate");
+                writeOffset = position;
+                writeHeader();
+                break;
+            }
+            try {
+                entries.add(objectMapper.readValue(payload, Entry.class));
+            } catch (IOException e) {
+                System.err.println("### Înregistrare ilizibilă în jurnalul de log-uri, ignorată: " + e.getMessage());
+            }
+            records++;
+            position += RECORD_HEADER_SIZE + payload.length;
+        }
+        return new Batch(entries, records);
+    }
+
+    /**
+     * Marchează ca trimise înregistrările unui lot întors de {@link #peek}.
+     */
+    public synchronized void commit(Batch batch) {
+        for (int i = 0; i < batch.records() && readOffset < writeOffset; i++) {
+            readOffset += RECORD_HEADER_SIZE + buffer.getInt((int) readOffset);
+        }
+        if (readOffset >= writeOffset) {
+            readOffset = HEADER_SIZE;
+            writeOffset = HEADER_SIZE;
+        }
+        writeHeader();
+    }
+
+    public synchronized boolean isEmpty() {
+        return readOffset == writeOffset;
+    }
+
+    public synchronized long pendingBytes() {
+        return writeOffset - readOffset;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    // Mută înregistrările nereluate la începutul fișierului, ca spațiul deja trimis să fie refolosit
+    private void compact() {
+        if (readOffset == HEADER_SIZE) {
+            return;
+        }
+        int length = (int) (writeOffset - readOffset);
+        ByteBuffer pending = buffer.duplicate();
+        pending.position((int) readOffset).limit((int) writeOffset);
+        byte[] bytes = new byte[length];
+        pending.get(bytes);
+        buffer.put(HEADER_SIZE, bytes);
+        readOffset = HEADER_SIZE;
+        writeOffset = HEADER_SIZE + length;
+        writeHeader();
+    }
+
+    private byte[] readPayload(long position) {
+        if (position + RECORD_HEADER_SIZE > writeOffset) {
+            return null;
+        }
+        int length = buffer.getInt((int) position);
+        if (length <= 0 || position + RECORD_HEADER_SIZE + length > writeOffset) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get((int) position + RECORD_HEADER_SIZE, payload);
+        return crc(payload) == buffer.getInt((int) position + 4) ? payload : null;
+    }
+
+    private void writeHeader() {
+        buffer.putLong(0, readOffset);
+        buffer.putLong(8, writeOffset);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    public record Entry(String routingKey, LogEvent event) {
+    }
+
+    // records include și înregistrările ilizibile, care sunt sărite dar trebuie consumate
+    public record Batch(List<Entry> entries, int records) {
+
+        public boolean isEmpty() {
+            return records == 0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.ReservationManagement.events;
+
+import com.example.commons.events.LogEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trimite log-urile de rezervări către logs_exchange. Cât timp broker-ul nu răspunde, log-urile sunt
+ * păstrate în jurnalul local și reluate în ordine, de un fir separat, după ce broker-ul revine.
+ */
+@Component
+public class LogEventPublisher {
+
+    public static final String EXCHANGE_NAME = "logs_exchange";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final LogEventJournal journal;
+    private final BrokerCircuitBreaker circuitBreaker;
+    private final int replayBatchSize;
+    private final long confirmTimeoutMillis;
+    private final ScheduledExecutorService replayer;
+
+    public LogEventPublisher(RabbitTemplate rabbitTemplate,
+                             ObjectMapper objectMapper,
+                             @Value("${reservations.log-journal.path:/tmp/reservation-log-journal.dat}") String journalPath,
+                             @Value("${reservations.log-journal.capacity-bytes:8388608}") int journalCapacity,
+                             @Value("${reservations.log-journal.replay-interval-ms:5000}") long replayIntervalMillis,
+                             @Value("${reservations.log-journal.replay-batch-size:200}") int replayBatchSize,
+                             @Value("${reservations.log-journal.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+                             @Value("${reservations.log-breaker.failure-threshold:2}") int failureThreshold,
+                             @Value("${reservations.log-breaker.open-ms:30000}") long openMillis) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.journal = new LogEventJournal(Path.of(journalPath), journalCapacity, objectMapper);
+        this.circuitBreaker = new BrokerCircuitBreaker(failureThreshold, openMillis);
+        this.replayBatchSize = Math.max(1, replayBatchSize);
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.replayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-journal-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.replayer.scheduleWithFixedDelay(this::replay, replayIntervalMillis, replayIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void publish(String routingKey, LogEvent event) {
+        // cât timp jurnalul nu e gol, log-urile noi intră după cele vechi, ca ordinea să se păstreze
+        if (circuitBreaker.allowsRequests() && journal.isEmpty()) {
+            try {
+                rabbitTemplate.convertAndSend(EXCHANGE_NAME, routingKey, event);
+                circuitBreaker.recordSuccess();
+                return;
+            } catch (AmqpException e) {
+                circuitBreaker.recordFailure();
+                System.err.println("### RabbitMQ indisponibil, log-ul este păstrat în jurnalul local: " + e.getMessage());
+            }
+        }
+        if (!journal.append(routingKey, event)) {
+            System.err.println("### Jurnalul local de log-uri este plin, log pierdut: " + event.getMessage());
+        }
+    }
+
+    public BrokerCircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getJournalPendingBytes() {
+        return journal.pendingBytes();
+    }
+
+    void replay() {
+        if (journal.isEmpty() || !circuitBreaker.tryProbe()) {
+            return;
+        }
+        try {
+            LogEventJournal.Batch batch;
+            while (!(batch = journal.peek(replayBatchSize)).isEmpty()) {
+                LogEventJournal.Batch current = batch;
+                // tot lotul pe același canal; lotul iese din jurnal doar după ce broker-ul l-a confirmat
+                rabbitTemplate.invoke(operations -> {
+                    for (LogEventJournal.Entry entry : current.entries()) {
+                        operations.convertAndSend(EXCHANGE_NAME, entry.routingKey(), entry.event());
+                    }
+                    operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+                    return null;
+                });
+                journal.commit(current);
+            }
+            circuitBreaker.recordSuccess();
+        } catch (Exception e) {
+            // lotul curent rămâne în jurnal și e retrimis la următoarea probă
+            circuitBreaker.recordFailure();
+            System.err.println("### Eroare la reluarea log-urilor din jurnalul local: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        replayer.shutdownNow();
+        journal.close();
+    }
+}
@@ -2,10 +2,12 @@ package com.example.ReservationManagement;
 
 import com.example.ReservationManagement.controller.ReservationController;
 import com.example.ReservationManagement.dto.*;
-import com.example.ReservationManagement.events.LogEvent;
+import com.example.ReservationManagement.events.LogEventPublisher;
 import com.example.ReservationManagement.model.ReservationStatus;
 import com.example.ReservationManagement.service.JwtService;
 import com.example.ReservationManagement.service.ReservationService;
+import com.example.commons.events.LogEvent;
+import com.example.commons.security.JwtPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +16,11 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -25,8 +30,11 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,7 +44,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Dependențele (servicii, RabbitTemplate) sunt simulate folosind @MockBean.
  * Spring Security este activ, iar testele folosesc @WithMockUser pentru a simula utilizatori autentificați.
  */
-@WebMvcTest(ReservationController.class)
+@WebMvcTest(value = ReservationController.class, properties = "reservations.log-journal.path=target/test-log-journal.dat")
+@Import(LogEventPublisher.class)
 class ReservationControllerTest {
 
     @Autowired
@@ -99,26 +108,26 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(roles = "ADMIN") // Simulează un user cu rol ADMIN pentru a trece de filtrul de securitate (evită 403 Forbidden)
     void createAdminReservation_shouldCreateReservationAndLogEvent() throws Exception {
         // Arrange
         String token = "Bearer dummy.jwt.token";
         String adminUsernameForLog = "logAdmin";
 
-        // Simulează extragerea numelui din token, necesară pentru logica din controller
-        when(jwtService.extractName("dummy.jwt.token")).thenReturn(adminUsernameForLog);
         when(reservationService.createReservationFromAdmin(any(AdminReservationRequestDTO.class))).thenReturn(reservationResponseDTO);
 
         // Act & Assert
         mockMvc.perform(post("/api/reservations/admin")
-                        .header("Authorization", token) // Header-ul este necesar pentru logica internă a controllerului
+                        .header("Authorization", token)
+                        .with(authentication(adminAuthentication(adminUsernameForLog)))
+                        .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(adminReservationRequestDTO)))
                 .andExpect(status().isOk());
 
         // Verifică interacțiunile
         verify(reservationService, times(1)).createReservationFromAdmin(any(AdminReservationRequestDTO.class));
-        verify(jwtService, times(1)).extractName("dummy.jwt.token");
+        // numele vine din principalul pus de filtrul JWT, token-ul nu mai este parsat în controller
+        verify(jwtService, never()).extractName(anyString());
 
         ArgumentCaptor<LogEvent> captor = ArgumentCaptor.forClass(LogEvent.class);
         verify(rabbitTemplate, times(1)).convertAndSend(eq(EXCHANGE_NAME), eq(ROUTING_KEY_RESERVATION), captor.capture());
@@ -132,28 +141,28 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(roles = "ADMIN") // Asigură accesul la endpoint
     void updateStatus_shouldUpdateStatusAndLogEvent() throws Exception {
         // Arrange
         Long reservationId = 1L;
         String token = "Bearer dummy.jwt.token";
         String adminUsernameForLog = "logAdmin";
 
-        when(jwtService.extractName("dummy.jwt.token")).thenReturn(adminUsernameForLog);
-        // Conform controller-ului furnizat, metoda 'updateStatus' din serviciu este 'void'.
-        // Deci, folosirea 'doNothing()' este corectă.
-        doNothing().when(reservationService).updateStatus(anyLong(), any(UpdateReservationStatusDTO.class));
+        // 'updateStatus' din serviciu întoarce rezervarea actualizată (controller-ul o ignoră)
+        when(reservationService.updateStatus(anyLong(), any(UpdateReservationStatusDTO.class))).thenReturn(reservationResponseDTO);
 
         // Act & Assert
         mockMvc.perform(put("/api/reservations/{id}/status", reservationId)
                         .header("Authorization", token)
+                        .with(authentication(adminAuthentication(adminUsernameForLog)))
+                        .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateReservationStatusDTO)))
                 .andExpect(status().isNoContent());
 
         // Verifică
         verify(reservationService, times(1)).updateStatus(eq(reservationId), any(UpdateReservationStatusDTO.class));
-        verify(jwtService, times(1)).extractName("dummy.jwt.token");
+        // numele vine din principalul pus de filtrul JWT, token-ul nu mai este parsat în controller
+        verify(jwtService, never()).extractName(anyString());
 
         ArgumentCaptor<LogEvent> captor = ArgumentCaptor.forClass(LogEvent.class);
         verify(rabbitTemplate, times(1)).convertAndSend(eq(EXCHANGE_NAME), eq(ROUTING_KEY_RESERVATION), captor.capture());
@@ -168,7 +177,6 @@ class ReservationControllerTest {
     }
 
     @Test
-    @WithMockUser(roles = "ADMIN")
     void deleteReservation_shouldDeleteReservationAndLogEvent() throws Exception {
         // Arrange
         Long reservationId = 1L;
@@ -176,18 +184,20 @@ class ReservationControllerTest {
         String adminUsernameForLog = "logAdmin";
 
         when(reservationService.getReservationById(reservationId)).thenReturn(reservationResponseDTO);
-        when(jwtService.extractName("dummy.jwt.token")).thenReturn(adminUsernameForLog);
         doNothing().when(reservationService).deleteReservation(reservationId);
 
         // Act & Assert
         mockMvc.perform(delete("/api/reservations/{id}", reservationId)
-                        .header("Authorization", token))
+                        .header("Authorization", token)
+                        .with(authentication(adminAuthentication(adminUsernameForLog)))
+                        .with(csrf()))
                 .andExpect(status().isNoContent());
 
         // Verifică
         verify(reservationService, times(1)).getReservationById(reservationId);
         verify(reservationService, times(1)).deleteReservation(reservationId);
-        verify(jwtService, times(1)).extractName("dummy.jwt.token");
+        // numele vine din principalul pus de filtrul JWT, token-ul nu mai este parsat în controller
+        verify(jwtService, never()).extractName(anyString());
 
         ArgumentCaptor<LogEvent> captor = ArgumentCaptor.forClass(LogEvent.class);
         verify(rabbitTemplate, times(1)).convertAndSend(eq(EXCHANGE_NAME), eq(ROUTING_KEY_RESERVATION), captor.capture());
@@ -202,6 +212,7 @@ class ReservationControllerTest {
 
         // Act & Assert
         mockMvc.perform(post("/api/reservations/user")
+                        .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(userReservationRequestDTO)))
                 .andExpect(status().isOk())
@@ -242,4 +253,10 @@ class ReservationControllerTest {
 
         verify(reservationService, times(1)).getReservationById(reservationId);
     }
-}
\ No newline at end of file
+
+    // Autentificarea pe care JwtAuthenticationFilter o pune pentru un token valid
+    private static UsernamePasswordAuthenticationToken adminAuthentication(String name) {
+        JwtPrincipal principal = new JwtPrincipal(1L, name, "admin@restaurant.ro", List.of("ROLE_ADMIN"));
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+    }
+}
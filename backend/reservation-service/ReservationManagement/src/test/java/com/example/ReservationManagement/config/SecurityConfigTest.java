@@ -0,0 +1,73 @@
+package com.example.ReservationManagement.config;
+
+import com.example.ReservationManagement.controller.ReservationController;
+import com.example.ReservationManagement.events.LogEventPublisher;
+import com.example.ReservationManagement.service.ReservationService;
+import com.example.commons.config.CommonsJwtAutoConfiguration;
+import com.example.commons.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Regulile din lanțul de securitate pentru endpoint-urile actuator: health e public, metricile cer token.
+ */
+@WebMvcTest(ReservationController.class)
+@Import(SecurityConfig.class)
+@ImportAutoConfiguration(CommonsJwtAutoConfiguration.class)
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
+    @MockBean
+    private ReservationService reservationService;
+
+    @MockBean
+    private LogEventPublisher logEventPublisher;
+
+    @Test
+    void metrics_withoutToken_shouldBeRejected() throws Exception {
+        int status = mockMvc.perform(get("/actuator/metrics/jwt.verifications")).andReturn().getResponse().getStatus();
+
+        assertThat(status).isIn(401, 403);
+    }
+
+    @Test
+    void metricsAndHealth_shouldPassSecurityWhenAllowed() throws Exception {
+        // slice-ul web nu pornește actuator-ul: 404 înseamnă că cererea a trecut de filtre
+        assertThat(mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus()).isEqualTo(404);
+        assertThat(mockMvc.perform(get("/actuator/metrics/jwt.verifications")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token()))
+                .andReturn().getResponse().getStatus()).isEqualTo(404);
+    }
+
+    private String token() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject("1")
+                .claim("name", "Ana Pop")
+                .claim("email", "ana@restaurant.ro")
+                .claim("roles", List.of("ADMIN"))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60_000))
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
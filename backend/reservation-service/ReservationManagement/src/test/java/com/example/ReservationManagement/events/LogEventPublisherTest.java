@@ -0,0 +1,166 @@
+package com.example.ReservationManagement.events;
+
+import com.example.commons.events.LogEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Teste pentru jurnalul local de log-uri și pentru întrerupătorul din fața RabbitMQ.
+ * Reluarea este apelată direct din test; firul de fundal rulează o dată pe oră.
+ */
+class LogEventPublisherTest {
+
+    private static final String ROUTING_KEY = "log.reservation.event";
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private LogEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    @Test
+    void journal_shouldKeepOrderAcrossRestartAndReuseSpaceAfterCommit() throws Exception {
+        Path path = tempDir.resolve("journal.dat");
+        LogEventJournal journal = new LogEventJournal(path, 4096, objectMapper);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(journal.append(ROUTING_KEY, event("Rezervarea #" + i)));
+        }
+        journal.close();
+
+        // după repornire, înregistrările sunt citite în ordinea scrierii
+        LogEventJournal reopened = new LogEventJournal(path, 4096, objectMapper);
+        LogEventJournal.Batch firstTwo = reopened.peek(2);
+        assertEquals(List.of("Rezervarea #0", "Rezervarea #1"), messages(firstTwo));
+        reopened.commit(firstTwo);
+        assertEquals(List.of("Rezervarea #2"), messages(reopened.peek(10)));
+
+        // spațiul deja trimis este refolosit când jurnalul se umple
+        int appended = 0;
+        while (reopened.append(ROUTING_KEY, event("Umplutură " + appended))) {
+            appended++;
+        }
+        reopened.commit(reopened.peek(appended + 1));
+        assertTrue(reopened.isEmpty());
+        assertTrue(reopened.append(ROUTING_KEY, event("După golire")));
+        reopened.close();
+    }
+
+    @Test
+    void publish_whenBrokerIsDown_shouldJournalEventsAndOpenCircuit() {
+        AmqpConnectException down = new AmqpConnectException(new ConnectException("Connection refused"));
+        doThrow(down).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenThrow(down);
+        publisher = publisher(60_000);
+
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(ROUTING_KEY, event("Rezervarea #" + i));
+        }
+
+        // doar prima cerere plătește încercarea; restul merg direct în jurnal, după ea
+        verify(rabbitTemplate, times(1)).convertAndSend(anyString(), anyString(), any(Object.class));
+        assertTrue(publisher.getJournalPendingBytes() > 0);
+
+        // și proba de reluare eșuează: circuitul se deschide
+        publisher.replay();
+        assertEquals(BrokerCircuitBreaker.State.OPEN, publisher.getCircuitState());
+
+        // pauza nu a expirat: nici reluarea, nici cererile nu mai ating broker-ul
+        publisher.replay();
+        publisher.publish(ROUTING_KEY, event("Rezervarea #5"));
+        verify(rabbitTemplate, times(1)).invoke(any(RabbitOperations.OperationsCallback.class));
+        verify(rabbitTemplate, times(1)).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replay_whenBrokerRecovers_shouldSendJournaledEventsInOrderBeforeNewOnes() {
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+        publisher = publisher(0);
+        for (int i = 0; i < 4; i++) {
+            publisher.publish(ROUTING_KEY, event("Rezervarea #" + i));
+        }
+
+        // broker-ul revine
+        reset(rabbitTemplate);
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(rabbitTemplate));
+        publisher.replay();
+        publisher.publish(ROUTING_KEY, event("Rezervarea #4"));
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(rabbitTemplate, times(5)).convertAndSend(eq(LogEventPublisher.EXCHANGE_NAME), eq(ROUTING_KEY), captor.capture());
+        assertEquals(List.of("Rezervarea #0", "Rezervarea #1", "Rezervarea #2", "Rezervarea #3", "Rezervarea #4"),
+                captor.getAllValues().stream().map(value -> ((LogEvent) value).getMessage()).collect(Collectors.toList()));
+        assertEquals(BrokerCircuitBreaker.State.CLOSED, publisher.getCircuitState());
+        assertEquals(0, publisher.getJournalPendingBytes());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void replay_whenBrokerDoesNotConfirm_shouldKeepBatchInJournal() {
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+        publisher = publisher(0);
+        for (int i = 0; i < 2; i++) {
+            publisher.publish(ROUTING_KEY, event("Rezervarea #" + i));
+        }
+        long pending = publisher.getJournalPendingBytes();
+
+        // mesajele pleacă pe canal, dar confirmarea nu vine la timp
+        reset(rabbitTemplate);
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(rabbitTemplate));
+        doThrow(new AmqpTimeoutException("Timed out waiting for confirms")).when(rabbitTemplate).waitForConfirmsOrDie(1_000);
+        publisher.replay();
+
+        verify(rabbitTemplate, times(2)).convertAndSend(eq(LogEventPublisher.EXCHANGE_NAME), eq(ROUTING_KEY), any(Object.class));
+        assertEquals(pending, publisher.getJournalPendingBytes());
+
+        // la următoarea probă lotul este retrimis întreg și abia după confirmare iese din jurnal
+        doNothing().when(rabbitTemplate).waitForConfirmsOrDie(1_000);
+        publisher.replay();
+
+        verify(rabbitTemplate, times(4)).convertAndSend(eq(LogEventPublisher.EXCHANGE_NAME), eq(ROUTING_KEY), any(Object.class));
+        assertEquals(0, publisher.getJournalPendingBytes());
+    }
+
+    private LogEventPublisher publisher(long openMillis) {
+        return new LogEventPublisher(rabbitTemplate, objectMapper, tempDir.resolve("publisher.dat").toString(),
+                64 * 1024, 3_600_000, 2, 1_000, 2, openMillis);
+    }
+
+    private static LogEvent event(String message) {
+        return new LogEvent(message, "RESERVATION", "UPDATE");
+    }
+
+    private static List<String> messages(LogEventJournal.Batch batch) {
+        return batch.entries().stream().map(entry -> entry.event().getMessage()).collect(Collectors.toList());
+    }
+}
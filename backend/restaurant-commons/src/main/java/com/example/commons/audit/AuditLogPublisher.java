@@ -0,0 +1,179 @@
+package com.example.commons.audit;
+
+import com.example.commons.events.LogEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Trimite log-urile de audit către logs_exchange fără să țină ocupat firul cererii HTTP:
+ * controller-ul doar pune evenimentul în coadă, iar un fir dedicat le publică în loturi
+ * și așteaptă confirmarea broker-ului pentru fiecare lot.
+ * Dacă broker-ul nu răspunde, lotul este reîncercat; când coada se umple, evenimentele noi sunt numărate și aruncate.
+ * <p>
+ * Creat de {@code CommonsAuditAutoConfiguration} când {@code audit.publisher.enabled=true}.
+ */
+public class AuditLogPublisher implements MeterBinder {
+
+    public static final String EXCHANGE_NAME = "logs_exchange";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final BoundedRingBuffer<PendingLog> buffer;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private final Thread sender;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    private volatile boolean running = true;
+    private volatile boolean senderIdle;
+
+    public AuditLogPublisher(RabbitTemplate rabbitTemplate,
+                             int capacity,
+                             int batchSize,
+                             long confirmTimeoutMillis,
+                             long shutdownTimeoutMillis) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.buffer = new BoundedRingBuffer<>(capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        // fir de platformă chiar și cu profilul virtual-threads: waitForConfirms așteaptă într-un synchronized
+        this.sender = new Thread(this::runSender, "audit-log-sender");
+        this.sender.setDaemon(true);
+    }
+
+    public void start() {
+        sender.start();
+    }
+
+    /**
+     * Singurul cost plătit de cererea HTTP: un CAS în coadă. Întoarce false dacă evenimentul a fost aruncat.
+     */
+    public boolean publish(String routingKey, LogEvent event) {
+        if (!running || !buffer.offer(new PendingLog(routingKey, event))) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (senderIdle) {
+            LockSupport.unpark(sender);
+        }
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatches.get();
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.publisher.queue.depth", this, AuditLogPublisher::getQueueDepth)
+                .description("Evenimente de audit care așteaptă să fie trimise")
+                .register(registry);
+        FunctionCounter.builder("audit.publisher.events", published, AtomicLong::get)
+                .tag("outcome", "published")
+                .description("Evenimente de audit confirmate de broker")
+                .register(registry);
+        FunctionCounter.builder("audit.publisher.events", dropped, AtomicLong::get)
+                .tag("outcome", "dropped")
+                .description("Evenimente de audit aruncate: coada plină sau oprirea serviciului")
+                .register(registry);
+        FunctionCounter.builder("audit.publisher.failed.batches", failedBatches, AtomicLong::get)
+                .description("Loturi de audit respinse de broker și reîncercate")
+                .register(registry);
+    }
+
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(sender);
+        // ce a apucat să intre în coadă este trimis înainte de oprire, dacă broker-ul răspunde
+        sender.join(shutdownTimeoutMillis);
+    }
+
+    private void runSender() {
+        List<PendingLog> batch = new ArrayList<>(batchSize);
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+
+        while (true) {
+            if (batch.isEmpty() && buffer.drainTo(batch, batchSize) == 0) {
+                if (!running) {
+                    return;
+                }
+                awaitEvents();
+                continue;
+            }
+
+            try {
+                send(batch);
+                published.addAndGet(batch.size());
+                batch.clear();
+                backoffMillis = INITIAL_BACKOFF_MILLIS;
+            } catch (Exception e) {
+                failedBatches.incrementAndGet();
+                System.err.println("### Eroare la trimiterea log-urilor de audit (" + batch.size() + " evenimente): " + e.getMessage());
+                if (!running) {
+                    // la oprire nu mai așteptăm broker-ul
+                    dropped.addAndGet(batch.size() + buffer.drainTo(new ArrayList<>(), Integer.MAX_VALUE));
+                    return;
+                }
+                // lotul rămâne și este retrimis; broker-ul poate primi unele mesaje de două ori
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void awaitEvents() {
+        senderIdle = true;
+        // verificăm din nou după ce am anunțat că dormim, ca un publish concurent să nu fie ratat
+        if (buffer.isEmpty() && running) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        senderIdle = false;
+    }
+
+    private void send(List<PendingLog> batch) {
+        // același canal pentru tot lotul, apoi o singură așteptare pentru confirmări
+        rabbitTemplate.invoke(operations -> {
+            for (PendingLog log : batch) {
+                operations.convertAndSend(EXCHANGE_NAME, log.routingKey, log.event);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+    }
+
+    private record PendingLog(String routingKey, LogEvent event) {
+    }
+}
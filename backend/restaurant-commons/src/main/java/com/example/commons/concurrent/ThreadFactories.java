@@ -0,0 +1,50 @@
+package com.example.commons.concurrent;
+
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fabrici de fire pentru executorii proprii ai serviciilor.
+ * <p>
+ * Cu profilul {@code virtual-threads} ({@code spring.threads.virtual.enabled=true}, Java 21), munca care doar
+ * așteaptă rețeaua poate rula pe fire virtuale. Excepție fac buclele care așteaptă în interiorul unui
+ * {@code synchronized} (de ex. {@code waitForConfirms} din clientul RabbitMQ): pe Java 21 ele blochează
+ * firul purtător („pinning”), deci rămân pe fire de platformă create cu {@link #platform}.
+ */
+public final class ThreadFactories {
+
+    private ThreadFactories() {
+    }
+
+    /**
+     * Fire virtuale doar dacă au fost cerute și JVM-ul le are; pe Java 17 proprietatea este ignorată.
+     */
+    public static boolean virtualThreadsAvailable(boolean requested) {
+        return requested && JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+    }
+
+    /**
+     * Pentru sarcini care stau blocate pe I/O fără să țină monitoare: virtuale când e posibil, altfel de platformă.
+     */
+    public static ThreadFactory forBlockingIo(String prefix, boolean virtualRequested) {
+        if (virtualThreadsAvailable(virtualRequested)) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        return platform(prefix);
+    }
+
+    /**
+     * Fire de platformă daemon, numerotate: {@code prefix1}, {@code prefix2}, ...
+     */
+    public static ThreadFactory platform(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.commons.config;
+
+import com.example.commons.audit.AuditLogPublisher;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Publisher-ul de audit pornește un fir dedicat, așa că este creat doar în serviciile care îl cer
+ * explicit cu {@code audit.publisher.enabled=true}.
+ */
+@AutoConfiguration(after = RabbitAutoConfiguration.class)
+@ConditionalOnClass(RabbitTemplate.class)
+@ConditionalOnProperty(prefix = "audit.publisher", name = "enabled", havingValue = "true")
+public class CommonsAuditAutoConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    @ConditionalOnBean(RabbitTemplate.class)
+    @ConditionalOnMissingBean
+    public AuditLogPublisher auditLogPublisher(RabbitTemplate rabbitTemplate,
+                                              @Value("${audit.publisher.capacity:4096}") int capacity,
+                                              @Value("${audit.publisher.batch-size:100}") int batchSize,
+                                              @Value("${audit.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+                                              @Value("${audit.publisher.shutdown-timeout-ms:5000}") long shutdownTimeoutMillis) {
+        return new AuditLogPublisher(rabbitTemplate, capacity, batchSize, confirmTimeoutMillis, shutdownTimeoutMillis);
+    }
+}
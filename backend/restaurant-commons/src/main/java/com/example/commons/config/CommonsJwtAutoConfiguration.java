@@ -0,0 +1,27 @@
+package com.example.commons.config;
+
+import com.example.commons.security.JwtVerifier;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Un singur {@link JwtVerifier} pe serviciu, pentru orice serviciu care are {@code jwt.secret-key}.
+ * Filtrul JWT este declarat explicit în SecurityConfig-ul fiecărui serviciu care îl folosește.
+ */
+@AutoConfiguration
+@ConditionalOnClass(Jwts.class)
+@ConditionalOnProperty("jwt.secret-key")
+public class CommonsJwtAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtVerifier jwtVerifier(@Value("${jwt.secret-key}") String secretKey,
+                                   @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries) {
+        return new JwtVerifier(secretKey, cacheMaxEntries);
+    }
+}
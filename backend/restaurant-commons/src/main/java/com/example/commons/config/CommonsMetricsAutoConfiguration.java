@@ -0,0 +1,23 @@
+package com.example.commons.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Toate metricile poartă tag-ul {@code service}, ca măsurătorile serviciilor să poată fi comparate
+ * în același registru. Metricile proprii (JWT, audit) sunt MeterBinder-e legate automat de actuator.
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistryCustomizer.class)
+public class CommonsMetricsAutoConfiguration {
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> serviceTagCustomizer(
+            @Value("${spring.application.name:necunoscut}") String serviceName) {
+        return registry -> registry.config().commonTags("service", serviceName);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.commons.config;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Log-urile circulă ca JSON între servicii; rulează înainte de RabbitAutoConfiguration,
+ * ca RabbitTemplate-ul și listener-ele să preia convertorul.
+ */
+@AutoConfiguration(before = RabbitAutoConfiguration.class)
+@ConditionalOnClass(RabbitTemplate.class)
+public class CommonsRabbitAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(MessageConverter.class)
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
@@ -1,4 +1,4 @@
-package com.example.Restaurant.events; // Adaptează la pachetul tău
+package com.example.commons.events;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
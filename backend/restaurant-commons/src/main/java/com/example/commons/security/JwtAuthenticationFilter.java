@@ -1,26 +1,29 @@
-package com.example.Restaurant.config.filter; // Adaptează pachetul la structura ta
+package com.example.commons.security;
 
-import com.example.Restaurant.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
-@Component
-@RequiredArgsConstructor
+/**
+ * Verifică token-ul o singură dată pe cerere și pune {@link JwtPrincipal} ca principal al autentificării;
+ * controllerele îl citesc cu {@code @AuthenticationPrincipal}, fără să mai parseze header-ul.
+ */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final JwtVerifier jwtVerifier;
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier) {
+        this.jwtVerifier = jwtVerifier;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -35,15 +38,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String jwt = authHeader.substring(7);
-        final String userEmail = jwtService.extractUsername(jwt);
-
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        final JwtPrincipal principal = jwtVerifier.verify(authHeader.substring(7));
 
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userEmail,
+                    principal,
                     null,
-                    Collections.emptyList()
+                    principal.roles().stream().map(SimpleGrantedAuthority::new).toList()
             );
             authToken.setDetails(
                     new WebAuthenticationDetailsSource().buildDetails(request)
@@ -53,4 +54,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.example.commons.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.List;
+
+/**
+ * Datele din token-ul verificat, puse de filtru ca principal al autentificării.
+ * Controllerele le citesc de aici, fără să mai parseze token-ul a doua oară.
+ */
+public record JwtPrincipal(Long id, String name, String email, List<String> roles) {
+
+    public static JwtPrincipal from(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        return new JwtPrincipal(
+                Long.valueOf(claims.getSubject()),
+                claims.get("name", String.class),
+                claims.get("email", String.class),
+                roles == null ? List.of() : roles.stream().map(String::valueOf).toList());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.commons.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.security.Key;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verificarea token-urilor emise de serviciul de autentificare, comună tuturor serviciilor.
+ * Cheia și parserul sunt imutabile și thread-safe, deci sunt construite o singură dată;
+ * token-urile deja verificate sunt servite din {@link VerifiedTokenCache} până la {@code exp}.
+ */
+public class JwtVerifier implements MeterBinder {
+
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache tokenCache;
+
+    private final LongAdder cached = new LongAdder();
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public JwtVerifier(String base64SecretKey, int cacheMaxEntries) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64SecretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.tokenCache = new VerifiedTokenCache(cacheMaxEntries);
+    }
+
+    /**
+     * Aruncă {@link JwtException} pentru semnătură invalidă sau token expirat.
+     */
+    public JwtPrincipal verify(String token) {
+        JwtPrincipal principal = tokenCache.get(token);
+        if (principal != null) {
+            cached.increment();
+            return principal;
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            rejected.increment();
+            throw e;
+        }
+        verified.increment();
+        principal = JwtPrincipal.from(claims);
+        if (claims.getExpiration() != null) {
+            tokenCache.put(token, principal, claims.getExpiration().getTime());
+        }
+        return principal;
+    }
+
+    // Serviciul de autentificare semnează token-urile noi cu aceeași cheie
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.verifications", cached, LongAdder::sum)
+                .tag("outcome", "cached")
+                .description("Token-uri servite din cache-ul de token-uri verificate")
+                .register(registry);
+        FunctionCounter.builder("jwt.verifications", verified, LongAdder::sum)
+                .tag("outcome", "verified")
+                .description("Token-uri verificate complet (HMAC și parsare)")
+                .register(registry);
+        FunctionCounter.builder("jwt.verifications", rejected, LongAdder::sum)
+                .tag("outcome", "rejected")
+                .description("Token-uri respinse: semnătură invalidă, expirate sau malformate")
+                .register(registry);
+        Gauge.builder("jwt.cache.size", tokenCache, VerifiedTokenCache::size)
+                .description("Token-uri păstrate în cache")
+                .register(registry);
+    }
+}
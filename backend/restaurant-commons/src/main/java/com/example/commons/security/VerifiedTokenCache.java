@@ -0,0 +1,110 @@
+package com.example.commons.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-uri deja verificate, ca cererile repetate cu același token să nu refacă HMAC-ul și parsarea JSON.
+ * Cheia este hash-ul SHA-256 al întregului token (nu doar semnătura), deci un token modificat nu găsește intrarea.
+ * O intrare nu mai este folosită după {@code exp}; când cache-ul e plin sunt scoase cele expirate,
+ * iar dacă tot nu e loc, token-ul nou pur și simplu nu este păstrat.
+ * <p>
+ * Căutarea intrărilor expirate nu parcurge tot cache-ul la fiecare {@code put}: un cursor păstrat între apeluri
+ * verifică cel mult {@value #SWEEP_SAMPLE} intrări și continuă de unde a rămas, deci un cache plin doar cu token-uri
+ * valide costă tot O(1) pe cerere, iar o intrare expirată este găsită după cel mult maxEntries / SWEEP_SAMPLE apeluri.
+ */
+public class VerifiedTokenCache {
+
+    static final int SWEEP_SAMPLE = 32;
+
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    // protejat de sweepLock; iteratorii ConcurrentHashMap tolerează modificările concurente
+    private Iterator<Entry> sweepCursor;
+
+    public VerifiedTokenCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxEntries, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    public JwtPrincipal get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() >= entry.expiresAt()) {
+            // token-ul a expirat între timp: parserul trebuie să-l respingă la fel ca pe unul nou
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    public void put(String token, JwtPrincipal principal, long expiresAt) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            sweepExpired(clock.getAsLong());
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(hash(token), new Entry(principal, expiresAt));
+    }
+
+    private void sweepExpired(long now) {
+        // alt fir face deja curățenia; cererea curentă nu așteaptă după el
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < SWEEP_SAMPLE; i++) {
+                if (sweepCursor == null || !sweepCursor.hasNext()) {
+                    sweepCursor = entries.values().iterator();
+                    if (!sweepCursor.hasNext()) {
+                        return;
+                    }
+                }
+                if (now >= sweepCursor.next().expiresAt()) {
+                    sweepCursor.remove();
+                }
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponibil", e);
+        }
+    }
+
+    private record Entry(JwtPrincipal principal, long expiresAt) {
+    }
+}
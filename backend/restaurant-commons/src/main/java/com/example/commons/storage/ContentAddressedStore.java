@@ -0,0 +1,229 @@
+package com.example.commons.storage;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Stocare adresată prin conținut pentru imaginile încărcate: numele fișierului este SHA-256-ul conținutului
+ * plus extensia formatului, deci aceeași poză încărcată de mai multe ori ocupă un singur fișier și are un singur URL
+ * (o singură intrare în cache-ul browserului).
+ * <p>
+ * Upload-ul este citit în flux, o singură dată: fiecare bloc trece prin SHA-256 și este scris pe disc din același
+ * buffer direct de dimensiune fixă. Tipul este verificat din primii octeți, iar dimensiunea la fiecare bloc,
+ * așa că un fișier greșit sau prea mare este oprit fără să fie citit până la capăt. Numărul de upload-uri
+ * simultane este limitat de numărul de buffere.
+ * <p>
+ * Fiecare fișier are un contor de referințe în {@code .refs/}; {@link #release} șterge fișierul doar când
+ * nu îl mai folosește nimeni. Fișierele vechi, fără contor, sunt tratate ca având o singură referință.
+ */
+public class ContentAddressedStore {
+
+    public static final long DEFAULT_MAX_BYTES = 10L * 1024 * 1024;
+    public static final int DEFAULT_MAX_CONCURRENT_UPLOADS = 4;
+
+    private static final String REFS_DIR = ".refs";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path refsDir;
+    private final long maxBytes;
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    public ContentAddressedStore(Path root) {
+        this(root, DEFAULT_MAX_BYTES, DEFAULT_MAX_CONCURRENT_UPLOADS);
+    }
+
+    public ContentAddressedStore(Path root, long maxBytes, int maxConcurrentUploads) {
+        this.root = root.toAbsolutePath().normalize();
+        this.refsDir = this.root.resolve(REFS_DIR);
+        this.maxBytes = maxBytes;
+        int concurrency = Math.max(1, maxConcurrentUploads);
+        this.buffers = new ArrayBlockingQueue<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            buffers.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+        }
+        try {
+            Files.createDirectories(refsDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nu s-a putut crea directorul pentru fișiere: " + this.root, e);
+        }
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Refuză din start o cerere al cărei Content-Length depășește limita, înainte de a citi corpul.
+     * O lungime necunoscută (-1) este verificată pe parcurs, în {@link #store}.
+     */
+    public void checkDeclaredLength(long contentLength) {
+        if (contentLength > maxBytes) {
+            throw tooLarge();
+        }
+    }
+
+    /**
+     * Scrie conținutul într-un fișier temporar calculând hash-ul în aceeași trecere, apoi îl mută la numele final
+     * sau, dacă același conținut există deja, păstrează copia existentă și doar crește contorul.
+     *
+     * @return numele fișierului (hash + extensie), relativ la rădăcina stocării
+     * @throws UploadRejectedException dacă nu e o imagine, e prea mare sau toate bufferele sunt ocupate
+     */
+    public String store(InputStream content) throws IOException {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            throw new UploadRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Prea multe upload-uri în curs, reîncercați");
+        }
+        // fișierul temporar e creat în try: dacă nici el nu poate fi creat, buffer-ul tot se întoarce în coadă
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(root, "upload-", ".tmp");
+            MessageDigest digest = sha256();
+            ImageType type = copy(Channels.newChannel(content), temp, buffer, digest);
+            String fileName = HexFormat.of().formatHex(digest.digest()) + type.getExtension();
+            retain(fileName, temp);
+            return fileName;
+        } finally {
+            buffer.clear();
+            buffers.offer(buffer);
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    private ImageType copy(ReadableByteChannel in, Path target, ByteBuffer buffer, MessageDigest digest) throws IOException {
+        ImageType type = null;
+        long total = 0;
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int read;
+            while ((read = fill(in, buffer)) > 0) {
+                total += read;
+                if (total > maxBytes) {
+                    throw tooLarge();
+                }
+                buffer.flip();
+                if (type == null) {
+                    type = ImageType.detect(buffer);
+                    if (type == null) {
+                        throw new UploadRejectedException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Sunt acceptate doar imagini JPEG, PNG, GIF sau WebP");
+                    }
+                }
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        if (type == null) {
+            throw new UploadRejectedException(HttpStatus.BAD_REQUEST, "Fișierul este gol");
+        }
+        return type;
+    }
+
+    // Umple buffer-ul cât se poate, ca primul bloc să conțină sigur antetul imaginii
+    private static int fill(ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private UploadRejectedException tooLarge() {
+        return new UploadRejectedException(HttpStatus.PAYLOAD_TOO_LARGE, "Fișierul depășește " + maxBytes / (1024 * 1024) + " MB");
+    }
+
+    /**
+     * Renunță la o referință; întoarce true dacă fișierul a fost șters (nu îl mai folosea nimeni).
+     */
+    public synchronized boolean release(String fileName) throws IOException {
+        Path blob = resolve(fileName);
+        Path refs = refsDir.resolve(blob.getFileName().toString());
+        int count = readCount(refs);
+        if (count > 1) {
+            writeCount(refs, count - 1);
+            return false;
+        }
+        Files.deleteIfExists(refs);
+        return Files.deleteIfExists(blob);
+    }
+
+    public synchronized int referenceCount(String fileName) throws IOException {
+        Path blob = resolve(fileName);
+        if (!Files.exists(blob)) {
+            return 0;
+        }
+        return Math.max(1, readCount(refsDir.resolve(blob.getFileName().toString())));
+    }
+
+    private synchronized void retain(String fileName, Path temp) throws IOException {
+        Path blob = root.resolve(fileName);
+        Path refs = refsDir.resolve(fileName);
+        if (Files.exists(blob)) {
+            writeCount(refs, Math.max(1, readCount(refs)) + 1);
+            return;
+        }
+        Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+        writeCount(refs, 1);
+    }
+
+    private Path resolve(String fileName) {
+        Path blob = root.resolve(fileName).normalize();
+        if (!blob.getParent().equals(root)) {
+            throw new IllegalArgumentException("Nume de fișier invalid: " + fileName);
+        }
+        return blob;
+    }
+
+    private static int readCount(Path refs) throws IOException {
+        try {
+            return Integer.parseInt(Files.readString(refs, StandardCharsets.US_ASCII).trim());
+        } catch (NoSuchFileException | NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void writeCount(Path refs, int count) throws IOException {
+        // rescris prin mutare, ca o oprire bruscă să nu lase un contor gol
+        Path temp = refs.resolveSibling(refs.getFileName() + ".tmp");
+        Files.writeString(temp, Integer.toString(count), StandardCharsets.US_ASCII);
+        Files.move(temp, refs, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponibil", e);
+        }
+    }
+}
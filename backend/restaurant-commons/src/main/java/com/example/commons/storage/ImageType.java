@@ -0,0 +1,52 @@
+package com.example.commons.storage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Formatele de imagine acceptate la upload, recunoscute după primii octeți ai conținutului,
+ * nu după extensia sau Content-Type-ul trimise de client.
+ */
+public enum ImageType {
+    JPEG(".jpg", new int[]{0xFF, 0xD8, 0xFF}),
+    PNG(".png", new int[]{0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A}),
+    GIF(".gif", new int[]{'G', 'I', 'F', '8'}),
+    // RIFF....WEBP; -1 sare peste octeții cu dimensiunea fișierului
+    WEBP(".webp", new int[]{'R', 'I', 'F', 'F', -1, -1, -1, -1, 'W', 'E', 'B', 'P'});
+
+    private final String extension;
+    private final int[] signature;
+
+    ImageType(String extension, int[] signature) {
+        this.extension = extension;
+        this.signature = signature;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Citește de la poziția curentă, fără să o modifice; null dacă formatul nu este recunoscut.
+     */
+    public static ImageType detect(ByteBuffer header) {
+        for (ImageType type : values()) {
+            if (type.matches(header)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private boolean matches(ByteBuffer header) {
+        if (header.remaining() < signature.length) {
+            return false;
+        }
+        int start = header.position();
+        for (int i = 0; i < signature.length; i++) {
+            if (signature[i] >= 0 && (header.get(start + i) & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.commons.storage;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Upload refuzat înainte de a fi păstrat: prea mare (413), alt tip decât imagine (415)
+ * sau prea multe upload-uri în paralel (503). Spring MVC răspunde direct cu codul din excepție.
+ */
+public class UploadRejectedException extends ResponseStatusException {
+
+    public UploadRejectedException(HttpStatus status, String reason) {
+        super(status, reason);
+    }
+}
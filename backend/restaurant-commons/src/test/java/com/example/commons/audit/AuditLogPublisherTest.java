@@ -0,0 +1,182 @@
+package com.example.commons.audit;
+
+import com.example.commons.events.LogEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private AuditLogPublisher publisher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    @Test
+    void whenProducersAreConcurrent_thenRingBufferDeliversEveryElementOnce() throws InterruptedException {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(1000);
+        assertThat(buffer.capacity()).isEqualTo(1024);
+
+        int producers = 4;
+        int perProducer = 20_000;
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(offset + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        Thread consumer = new Thread(() -> {
+            int count = 0;
+            while (count < producers * perProducer) {
+                Integer value = buffer.poll();
+                if (value == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (!received.add(value)) {
+                    duplicates.incrementAndGet();
+                }
+                count++;
+            }
+        });
+        threads.forEach(Thread::start);
+        consumer.start();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        consumer.join(10_000);
+
+        assertThat(received).hasSize(producers * perProducer);
+        assertThat(duplicates).hasValue(0);
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void whenEventsAreQueued_thenTheyArePublishedInConfirmedBatches() throws Exception {
+        CountDownLatch sent = new CountDownLatch(5);
+        AtomicInteger sentInBatch = new AtomicInteger();
+        answerInvoke(sentInBatch);
+        doAnswer(invocation -> {
+            sentInBatch.incrementAndGet();
+            sent.countDown();
+            return null;
+        }).when(operations).convertAndSend(eq(AuditLogPublisher.EXCHANGE_NAME), anyString(), any(Object.class));
+
+        publisher = new AuditLogPublisher(rabbitTemplate, 64, 10, 1000, 1000);
+        for (int i = 0; i < 5; i++) {
+            assertThat(publisher.publish("log.product.event", event(i))).isTrue();
+        }
+        publisher.start();
+
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        publisher.shutdown();
+        // toate cele 5 erau deja în coadă, deci pleacă într-un singur lot, cu o singură așteptare de confirmare
+        assertThat(batchSizes).containsExactly(5);
+        verify(operations).waitForConfirmsOrDie(1000);
+        assertThat(publisher.getPublishedCount()).isEqualTo(5);
+        assertThat(publisher.getQueueDepth()).isZero();
+        assertThat(publisher.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void whenBufferIsFull_thenNewEventsAreDroppedAndCounted() throws Exception {
+        CountDownLatch senderBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation -> {
+            senderBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        publisher = new AuditLogPublisher(rabbitTemplate, 4, 1, 1000, 1000);
+        publisher.start();
+        publisher.publish("log.order.event", event(0));
+        assertThat(senderBusy.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // firul de trimitere e blocat pe primul eveniment: încap exact 4, al cincilea e aruncat
+        for (int i = 1; i <= 4; i++) {
+            assertThat(publisher.publish("log.order.event", event(i))).isTrue();
+        }
+        assertThat(publisher.publish("log.order.event", event(5))).isFalse();
+        assertThat(publisher.getQueueDepth()).isEqualTo(4);
+        assertThat(publisher.getDroppedCount()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void whenBrokerFails_thenTheBatchIsRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(1);
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new AmqpException("broker indisponibil");
+            }
+            delivered.countDown();
+            return null;
+        });
+
+        publisher = new AuditLogPublisher(rabbitTemplate, 16, 10, 1000, 1000);
+        publisher.start();
+        publisher.publish("log.category.event", event(1));
+
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        publisher.shutdown();
+        assertThat(attempts).hasValue(2);
+        assertThat(publisher.getFailedBatchCount()).isEqualTo(1);
+        assertThat(publisher.getPublishedCount()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void answerInvoke(AtomicInteger sentInBatch) {
+        when(rabbitTemplate.invoke(any(RabbitOperations.OperationsCallback.class))).thenAnswer(invocation -> {
+            RabbitOperations.OperationsCallback<Object> callback = invocation.getArgument(0);
+            sentInBatch.set(0);
+            Object result = callback.doInRabbit(operations);
+            batchSizes.add(sentInBatch.get());
+            return result;
+        });
+    }
+
+    private static LogEvent event(int index) {
+        return new LogEvent("Eveniment " + index, "PRODUCT", "UPDATE");
+    }
+}
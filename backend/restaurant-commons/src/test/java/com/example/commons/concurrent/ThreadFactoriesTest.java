@@ -0,0 +1,37 @@
+package com.example.commons.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.system.JavaVersion;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThreadFactoriesTest {
+
+    @Test
+    void whenVirtualThreadsAreNotRequested_thenPlatformDaemonThreadsAreNamedInOrder() {
+        ThreadFactory factory = ThreadFactories.forBlockingIo("order-stream-", false);
+
+        Thread first = factory.newThread(() -> { });
+        Thread second = factory.newThread(() -> { });
+
+        assertThat(first.getName()).isEqualTo("order-stream-1");
+        assertThat(second.getName()).isEqualTo("order-stream-2");
+        assertThat(first.isDaemon()).isTrue();
+    }
+
+    @Test
+    void whenVirtualThreadsAreRequested_thenTheyAreUsedOnlyOnJava21() throws Exception {
+        boolean java21 = JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE);
+        assertThat(ThreadFactories.virtualThreadsAvailable(true)).isEqualTo(java21);
+        assertThat(ThreadFactories.virtualThreadsAvailable(false)).isFalse();
+
+        // pe Java 17 fabrica nu trebuie să arunce, ci să revină la fire de platformă
+        CompletableFuture<String> ran = new CompletableFuture<>();
+        ThreadFactories.forBlockingIo("io-", true).newThread(() -> ran.complete("ok")).start();
+        assertThat(ran.get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.commons.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtVerifierTest {
+
+    private static final String SECRET = "bXktc3VwZXItc2VjcmV0LWtleS1mb3Itand0LXNhbXBsZS1hcHBsaWNhdGlvbg==";
+
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, 100);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void whenTokenIsVerified_thenPrincipalHoldsClaimsAndRepeatCallsAreCounted() {
+        verifier.bindTo(registry);
+        String token = token(60_000);
+
+        JwtPrincipal principal = verifier.verify(token);
+
+        assertThat(principal).isEqualTo(new JwtPrincipal(7L, "Ana Pop", "ana@restaurant.ro", List.of("ROLE_ADMIN")));
+        assertThat(verifier.verify(token)).isSameAs(principal);
+        assertThat(registry.get("jwt.verifications").tag("outcome", "verified").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.verifications").tag("outcome", "cached").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void whenTokenIsTamperedOrExpired_thenItIsRejected() {
+        verifier.bindTo(registry);
+        String token = token(60_000);
+        verifier.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> verifier.verify(tampered)).isInstanceOf(SignatureException.class);
+        assertThatThrownBy(() -> verifier.verify(token(-1_000))).isInstanceOf(ExpiredJwtException.class);
+        assertThat(registry.get("jwt.verifications").tag("outcome", "rejected").functionCounter().count()).isEqualTo(2);
+    }
+
+    // Același format ca token-urile emise de serviciul de autentificare
+    private String token(long validityMillis) {
+        return Jwts.builder()
+                .setClaims(Map.of("name", "Ana Pop", "email", "ana@restaurant.ro", "roles", List.of("ROLE_ADMIN")))
+                .setSubject("7")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + validityMillis))
+                .signWith(verifier.getSigningKey(), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
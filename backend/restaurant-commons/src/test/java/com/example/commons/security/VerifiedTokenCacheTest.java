@@ -0,0 +1,63 @@
+package com.example.commons.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final JwtPrincipal principal = new JwtPrincipal(1L, "Ana", "ana@restaurant.ro", List.of("ROLE_ADMIN"));
+
+    @Test
+    void whenTokenExpires_thenEntryIsNoLongerServed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, now::get);
+        cache.put("a.b.c", principal, 2_000);
+
+        assertThat(cache.get("a.b.c")).isSameAs(principal);
+        now.set(2_000);
+        assertThat(cache.get("a.b.c")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void whenCacheIsFull_thenExpiredEntriesMakeRoomAndValidOnesAreKept() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, now::get);
+        cache.put("expira.curand", principal, 1_500);
+        cache.put("valid.mult", principal, 10_000);
+        now.set(1_600);
+
+        cache.put("nou", principal, 10_000);
+        assertThat(cache.get("nou")).isSameAs(principal);
+
+        // plin doar cu intrări valide: token-ul nou nu mai este păstrat
+        cache.put("in.plus", principal, 10_000);
+        assertThat(cache.get("in.plus")).isNull();
+        assertThat(cache.get("valid.mult")).isSameAs(principal);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void whenCacheIsFullOfValidTokens_thenEachPutChecksOnlyASampleAndStillFindsExpiredEntries() {
+        int maxEntries = 10 * VerifiedTokenCache.SWEEP_SAMPLE;
+        VerifiedTokenCache cache = new VerifiedTokenCache(maxEntries, now::get);
+        for (int i = 0; i < maxEntries - 1; i++) {
+            cache.put("valid." + i, principal, 10_000);
+        }
+        cache.put("expira.curand", principal, 1_500);
+        now.set(1_600);
+
+        // fiecare put verifică doar un eșantion; cursorul avansează până dă de intrarea expirată
+        int attempts = 0;
+        while (cache.get("nou") == null) {
+            assertThat(attempts++).isLessThanOrEqualTo(maxEntries / VerifiedTokenCache.SWEEP_SAMPLE);
+            cache.put("nou", principal, 10_000);
+        }
+        assertThat(attempts).isGreaterThan(0);
+        assertThat(cache.size()).isEqualTo(maxEntries);
+        assertThat(cache.get("valid.0")).isSameAs(principal);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.commons.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentAddressedStoreTest {
+
+    private static final byte[] PNG_HEADER = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+
+    @TempDir
+    Path root;
+
+    private ContentAddressedStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ContentAddressedStore(root, 1024, 1);
+    }
+
+    @Test
+    void whenSameContentIsUploadedTwice_thenOneFileIsSharedUntilTheLastReleaseDeletesIt() throws Exception {
+        String first = store.store(png("poza"));
+        String second = store.store(png("poza"));
+
+        assertThat(first).isEqualTo(second).endsWith(".png");
+        assertThat(first.substring(0, 64)).isEqualTo(sha256(png("poza").readAllBytes()));
+        assertThat(store.referenceCount(first)).isEqualTo(2);
+        try (var files = Files.list(root)) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+        }
+
+        assertThat(store.release(first)).isFalse();
+        assertThat(root.resolve(first)).exists();
+        assertThat(store.release(first)).isTrue();
+        assertThat(root.resolve(first)).doesNotExist();
+        assertThat(store.referenceCount(first)).isZero();
+    }
+
+    @Test
+    void whenContentDiffers_thenFilesAreSeparate() throws Exception {
+        String first = store.store(png("poza"));
+        String second = store.store(png("alta poza"));
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(Files.readAllBytes(root.resolve(second))).isEqualTo(png("alta poza").readAllBytes());
+    }
+
+    @Test
+    void whenLegacyFileHasNoCounter_thenReleaseDeletesIt() throws Exception {
+        Files.writeString(root.resolve("7f1c-vechi.jpg"), "vechi");
+
+        assertThat(store.referenceCount("7f1c-vechi.jpg")).isEqualTo(1);
+        assertThat(store.release("7f1c-vechi.jpg")).isTrue();
+        assertThat(root.resolve("7f1c-vechi.jpg")).doesNotExist();
+    }
+
+    @Test
+    void whenContentIsNotAnImage_thenItIsRejectedFromTheFirstBytes() {
+        assertThatThrownBy(() -> store.store(new ByteArrayInputStream("<script>".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(UploadRejectedException.class)
+                .extracting(e -> ((UploadRejectedException) e).getStatusCode())
+                .isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        assertThat(ImageType.detect(ByteBuffer.wrap(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0}))).isEqualTo(ImageType.JPEG);
+    }
+
+    @Test
+    void whenUploadIsTooLarge_thenReadingStopsAtTheLimitAndNothingIsKept() throws Exception {
+        AtomicLong served = new AtomicLong();
+        // flux "infinit": fără limită ar fi citit până la epuizarea discului
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                long position = served.getAndIncrement();
+                return position < PNG_HEADER.length ? PNG_HEADER[(int) position] & 0xFF : 0;
+            }
+        };
+
+        assertThatThrownBy(() -> store.store(endless))
+                .isInstanceOf(UploadRejectedException.class)
+                .extracting(e -> ((UploadRejectedException) e).getStatusCode())
+                .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(served.get()).isLessThan(128 * 1024);
+        try (var files = Files.list(root)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+        assertThatThrownBy(() -> store.checkDeclaredLength(4096)).isInstanceOf(UploadRejectedException.class);
+
+        // buffer-ul a fost eliberat: următorul upload merge
+        assertThat(store.store(png("poza"))).endsWith(".png");
+    }
+
+    @Test
+    void whenTempFileCannotBeCreated_thenBufferIsStillReturned() throws Exception {
+        // directorul dispare (volum demontat, curățat de altcineva): fiecare upload eșuează cu eroarea reală
+        Files.delete(root.resolve(".refs"));
+        Files.delete(root);
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> store.store(png("poza"))).isInstanceOf(NoSuchFileException.class);
+        }
+
+        // singurul buffer nu s-a pierdut: după ce directorul revine, upload-urile merg, fără 503
+        Files.createDirectories(root.resolve(".refs"));
+        assertThat(store.store(png("poza"))).endsWith(".png");
+    }
+
+    private static ByteArrayInputStream png(String body) {
+        byte[] text = body.getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[PNG_HEADER.length + text.length];
+        System.arraycopy(PNG_HEADER, 0, content, 0, PNG_HEADER.length);
+        System.arraycopy(text, 0, content, PNG_HEADER.length, text.length);
+        return new ByteArrayInputStream(content);
+    }
+
+    private static String sha256(byte[] value) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value));
+    }
+}
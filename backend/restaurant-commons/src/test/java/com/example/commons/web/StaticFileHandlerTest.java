@@ -0,0 +1,110 @@
+package com.example.commons.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StaticFileHandlerTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+
+    @TempDir
+    Path root;
+
+    private StaticFileHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.writeString(root.resolve("poza meniu.jpg"), CONTENT);
+        Files.writeString(root.getParent().resolve("secret.txt"), "nu");
+        handler = new StaticFileHandler(root);
+    }
+
+    @Test
+    void whenFileIsServed_thenItIsCachedAsImmutableAndRevalidatedWithEtag() throws Exception {
+        MockHttpServletResponse response = get("poza%20meniu.jpg", null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("public, max-age=31536000, immutable");
+        assertThat(response.getContentType()).isEqualTo("image/jpeg");
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length());
+
+        MockHttpServletRequest revalidation = request("poza%20meniu.jpg");
+        revalidation.addHeader("If-None-Match", response.getHeader("ETag"));
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        handler.handleRequest(revalidation, notModified);
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void whenRangeIsRequested_thenOnlyThatSliceIsSent() throws Exception {
+        MockHttpServletResponse middle = get("poza%20meniu.jpg", "bytes=5-9");
+        assertThat(middle.getStatus()).isEqualTo(206);
+        assertThat(middle.getHeader("Content-Range")).isEqualTo("bytes 5-9/20");
+        assertThat(middle.getContentAsString()).isEqualTo("56789");
+
+        MockHttpServletResponse suffix = get("poza%20meniu.jpg", "bytes=-3");
+        assertThat(suffix.getContentAsString()).isEqualTo("hij");
+
+        MockHttpServletResponse outside = get("poza%20meniu.jpg", "bytes=50-");
+        assertThat(outside.getStatus()).isEqualTo(416);
+        assertThat(outside.getHeader("Content-Range")).isEqualTo("bytes */20");
+
+        // mai multe intervale nu sunt suportate: se trimite tot fișierul
+        MockHttpServletResponse multiple = get("poza%20meniu.jpg", "bytes=0-1,4-5");
+        assertThat(multiple.getStatus()).isEqualTo(200);
+        assertThat(multiple.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void whenTomcatSupportsSendfile_thenTheConnectorSendsTheFile() throws Exception {
+        byte[] large = new byte[64 * 1024];
+        Files.write(root.resolve("mare.jpg"), large);
+        MockHttpServletRequest request = request("mare.jpg");
+        request.setAttribute(StaticFileHandler.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        handler.handleRequest(request, response);
+
+        assertThat(request.getAttribute(StaticFileHandler.SENDFILE_FILENAME_ATTR)).isEqualTo(root.resolve("mare.jpg").toString());
+        assertThat(request.getAttribute(StaticFileHandler.SENDFILE_END_ATTR)).isEqualTo((long) large.length);
+        assertThat(response.getContentLengthLong()).isEqualTo(large.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void whenPathLeavesTheDirectory_thenNotFound() throws Exception {
+        assertThat(get("../secret.txt", null).getStatus()).isEqualTo(404);
+        assertThat(get("%2e%2e/secret.txt", null).getStatus()).isEqualTo(404);
+        assertThat(get("lipsa.jpg", null).getStatus()).isEqualTo(404);
+        Files.createDirectories(root.resolve(".refs"));
+        Files.writeString(root.resolve(".refs/poza.jpg"), "2");
+        assertThat(get(".refs/poza.jpg", null).getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse get(String path, String range) throws Exception {
+        MockHttpServletRequest request = request(path);
+        if (range != null) {
+            request.addHeader("Range", range);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handleRequest(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/" + path);
+        request.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, path);
+        return request;
+    }
+}
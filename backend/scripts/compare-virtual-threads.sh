@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Side-by-side load comparison: the same service built twice (Java 17 + platform threads,
+# Java 21 + virtual-threads profile), each in a container limited like a small Railway instance.
+#
+# Usage (from backend/):
+#   scripts/compare-virtual-threads.sh <service-dir> <path> [env-file] [concurrency] [duration]
+#   scripts/compare-virtual-threads.sh reservation-service/ReservationManagement /api/reservations .env.local 200 60s
+#
+# Needs docker and hey (https://github.com/rakyll/hey). The env file holds the MYSQL* / RABBITMQ_* /
+# JWT variables the service needs; both runs use the same database, so the data is identical.
+set -euo pipefail
+
+SERVICE_DIR=${1:?service directory, e.g. reservation-service/ReservationManagement}
+REQUEST_PATH=${2:?request path, e.g. /api/reservations}
+ENV_FILE=${3:-}
+CONCURRENCY=${4:-200}
+DURATION=${5:-60s}
+CPUS=${CPUS:-1}
+MEMORY=${MEMORY:-512m}
+PORT=18080
+AUTH_HEADER=${AUTH_HEADER:-}
+
+NAME=$(basename "$SERVICE_DIR" | tr '[:upper:]' '[:lower:]')
+ENV_ARGS=()
+if [[ -n "$ENV_FILE" ]]; then
+  ENV_ARGS=(--env-file "$ENV_FILE")
+fi
+AUTH_ARGS=()
+if [[ -n "$AUTH_HEADER" ]]; then
+  AUTH_ARGS=(-H "Authorization: $AUTH_HEADER")
+fi
+
+run() {
+  local label=$1 tag=$2 profiles=$3
+  shift 3
+  docker build -q -t "$tag" -f "$SERVICE_DIR/Dockerfile" "$@" . > /dev/null
+  docker run -d --rm --name "$tag" --cpus "$CPUS" --memory "$MEMORY" -p "$PORT:8080" \
+    "${ENV_ARGS[@]}" -e SPRING_PROFILES_ACTIVE="$profiles" \
+    -e JAVA_TOOL_OPTIONS="-Djdk.tracePinnedThreads=short" "$tag" > /dev/null
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null 2>&1 \
+      || curl -s -o /dev/null "http://localhost:$PORT$REQUEST_PATH"; do
+    sleep 2
+  done
+  # warm-up (JIT, connection pool), not measured
+  hey -z 15s -c "$CONCURRENCY" "${AUTH_ARGS[@]}" "http://localhost:$PORT$REQUEST_PATH" > /dev/null
+
+  echo "=== $label ($CPUS CPU, $MEMORY, $CONCURRENCY concurrent, $DURATION)"
+  hey -z "$DURATION" -c "$CONCURRENCY" "${AUTH_ARGS[@]}" "http://localhost:$PORT$REQUEST_PATH" \
+    | grep -E "Requests/sec|Average|Slowest|Fastest|  (50|90|99)% in|\[[0-9]{3}\]"
+  echo "--- pinned virtual threads reported by the JVM:"
+  docker logs "$tag" 2>&1 | grep -c "onPinned" || true
+  docker stop "$tag" > /dev/null
+}
+
+run "Java 17, platform threads" "$NAME-platform" ""
+run "Java 21, virtual threads" "$NAME-virtual" "virtual-threads" \
+  --build-arg BUILDER_IMAGE=maven:3.9.6-eclipse-temurin-21 --build-arg MAVEN_PROFILES=java21